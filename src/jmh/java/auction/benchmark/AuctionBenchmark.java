@@ -0,0 +1,36 @@
+package auction.benchmark;
+
+import auction.Auction;
+import auction.AuctionResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of a whole auction for every pairing of bidders.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuctionBenchmark {
+    @Param({"SimpleBidder", "RandomBidder", "TitForTatBidder", "RandomBidder2", "SimpleHighBidder", "MyBidder"})
+    public String bidder1;
+
+    @Param({"SimpleBidder", "RandomBidder", "TitForTatBidder", "RandomBidder2", "SimpleHighBidder", "MyBidder"})
+    public String bidder2;
+
+    private Auction auction;
+
+    @Setup
+    public void setup() {
+        auction = new Auction(BenchmarkBidders.create(bidder1), BenchmarkBidders.create(bidder2), 30, 300);
+    }
+
+    @Benchmark
+    public AuctionResult run() {
+        return auction.run();
+    }
+}
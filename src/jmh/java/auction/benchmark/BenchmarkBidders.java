@@ -0,0 +1,49 @@
+package auction.benchmark;
+
+import auction.Bidder;
+import auction.bidders.*;
+import auction.bidders.mybidder.MyBidder;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+/**
+ * The bidders in {@link auction.bidders}, by class name, so they can be used as JMH parameters.
+ */
+public class BenchmarkBidders {
+    private final static Map<String, Supplier<Bidder>> BIDDERS = Map.of(
+            "SimpleBidder", SimpleBidder::new,
+            "RandomBidder", RandomBidder::new,
+            "TitForTatBidder", TitForTatBidder::new,
+            "RandomBidder2", RandomBidder2::new,
+            "SimpleHighBidder", SimpleHighBidder::new,
+            "MyBidder", MyBidder::new
+    );
+
+    /**
+     * Creates a new bidder by its class name.
+     */
+    public static Bidder create(String name) {
+        Supplier<Bidder> supplier = BIDDERS.get(name);
+        if (supplier == null) {
+            throw new IllegalArgumentException("Unknown bidder: " + name);
+        }
+        return supplier.get();
+    }
+
+    /**
+     * Generates a reproducible history of random bids between 0 and twice the average bid.
+     *
+     * @return A 2-element array, index 0 are the own bids, index 1 are the other bids.
+     */
+    public static int[][] randomBids(int rounds, int averageBid) {
+        SplittableRandom random = new SplittableRandom(42);
+        int[][] bids = new int[2][rounds];
+        for (int round = 0; round < rounds; round++) {
+            bids[0][round] = random.nextInt(2 * averageBid);
+            bids[1][round] = random.nextInt(2 * averageBid);
+        }
+        return bids;
+    }
+}
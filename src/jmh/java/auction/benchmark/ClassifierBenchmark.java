@@ -0,0 +1,57 @@
+package auction.benchmark;
+
+import auction.bidders.mybidder.BayesianOpponentClassifier;
+import auction.bidders.mybidder.BidHistory;
+import auction.bidders.mybidder.OpponentClassifier;
+import auction.bidders.mybidder.OpponentStrategy;
+import auction.bidders.mybidder.OpponentStrategyCategorizer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one round of the opponent classifiers: recording the bids and categorizing the opponent.
+ * The classifier is reset whenever the quantity runs out, so every round costs the same as in an auction.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClassifierBenchmark {
+    private final static int QUANTITY = 30;
+    private final static int CASH = 300;
+    private final static int ROUNDS = QUANTITY / 2;
+
+    @Param({"THRESHOLDS", "BAYESIAN"})
+    public String classifierName;
+
+    private BidHistory history;
+    private OpponentClassifier classifier;
+    private int[][] bids;
+    private int round;
+
+    @Setup
+    public void setup() {
+        history = new BidHistory(ROUNDS);
+        classifier = classifierName.equals("BAYESIAN")
+                ? new BayesianOpponentClassifier(QUANTITY, CASH, history)
+                : new OpponentStrategyCategorizer(QUANTITY, CASH, history);
+        bids = BenchmarkBidders.randomBids(ROUNDS, 2 * CASH / QUANTITY);
+        round = 0;
+    }
+
+    @Benchmark
+    public OpponentStrategy round() {
+        if (round == ROUNDS) {
+            history.reset();
+            classifier.reset(QUANTITY, CASH);
+            round = 0;
+        }
+        history.add(bids[0][round], bids[1][round]);
+        classifier.bids(bids[0][round], bids[1][round]);
+        round++;
+        return classifier.categorize();
+    }
+}
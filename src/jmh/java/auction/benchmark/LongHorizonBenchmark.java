@@ -0,0 +1,43 @@
+package auction.benchmark;
+
+import auction.Auction;
+import auction.AuctionResult;
+import auction.bidders.mybidder.MyBidder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time of a whole auction of MyBidder against an opponent, for growing quantities.
+ * The cash per QU stays the same, so the cash grows with the quantity up to close to the largest int.
+ * Every bidder spends constant time per round, so the time should grow linearly with the quantity.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LongHorizonBenchmark {
+    @Param({"1000", "10000", "100000"})
+    public int quantity;
+
+    // Each opponent makes MyBidder use a different strategy: random, tit-for-tat and simple aggressive
+    @Param({"RandomBidder", "TitForTatBidder", "SimpleHighBidder"})
+    public String opponent;
+
+    private Auction auction;
+
+    @Setup
+    public void setup() {
+        int cash = 10_000 * quantity;
+        auction = new Auction(new MyBidder(), BenchmarkBidders.create(opponent), quantity, cash,
+                new SplittableRandom(42), new SplittableRandom(43));
+    }
+
+    @Benchmark
+    public AuctionResult run() {
+        return auction.run();
+    }
+}
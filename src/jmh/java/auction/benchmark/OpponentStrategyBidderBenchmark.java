@@ -0,0 +1,48 @@
+package auction.benchmark;
+
+import auction.bidders.mybidder.BidHistory;
+import auction.bidders.mybidder.OpponentStrategy;
+import auction.bidders.mybidder.OpponentStrategyBidder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of calculating the next bid against each opponent strategy, after a given number of rounds.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OpponentStrategyBidderBenchmark {
+    @Param({"2", "15", "500"})
+    public int rounds;
+
+    @Param({"TIT_FOR_TAT", "SIMPLE_AGGRESSIVE", "SIMPLE_CONSERVATIVE", "RANDOM", "UNKNOWN"})
+    public OpponentStrategy strategy;
+
+    private OpponentStrategyBidder bidder;
+
+    @Setup
+    public void setup() {
+        // Enough quantity for one more round than recorded, with the same cash per round as 30 QU / 300 MU
+        int quantity = Math.max(30, 2 * (rounds + 1));
+        int cash = 10 * quantity;
+        BidHistory history = new BidHistory(quantity / 2);
+        bidder = new OpponentStrategyBidder(quantity, cash, history, new SplittableRandom(42));
+
+        int[][] bids = BenchmarkBidders.randomBids(rounds, 2 * cash / quantity);
+        for (int round = 0; round < rounds; round++) {
+            history.add(bids[0][round], bids[1][round]);
+            bidder.bids(bids[0][round], bids[1][round]);
+        }
+    }
+
+    @Benchmark
+    public int getNextBid() {
+        return bidder.getNextBid(strategy);
+    }
+}
@@ -0,0 +1,39 @@
+package auction.benchmark;
+
+import auction.Bidder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call cost of {@link Bidder#placeBid()} for every bidder, a few rounds into an auction.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlaceBidBenchmark {
+    @Param({"SimpleBidder", "RandomBidder", "TitForTatBidder", "RandomBidder2", "SimpleHighBidder", "MyBidder"})
+    public String bidder;
+
+    private Bidder instance;
+
+    @Setup
+    public void setup() {
+        instance = BenchmarkBidders.create(bidder);
+        instance.init(30, 300);
+        // Play a few rounds against a fixed opponent, so the bidder is past its first-round special cases
+        int[] otherBids = {20, 25, 15, 22, 18};
+        for (int otherBid : otherBids) {
+            int ownBid = instance.placeBid();
+            instance.bids(ownBid, otherBid);
+        }
+    }
+
+    @Benchmark
+    public int placeBid() {
+        return instance.placeBid();
+    }
+}
@@ -1,10 +1,61 @@
 import auction.Auction;
+import auction.AuctionResult;
 import auction.Bidder;
+import auction.analysis.AuctionProbabilities;
+import auction.analysis.BidModels;
+import auction.analysis.ExactEvaluator;
+import auction.arena.ArenaProgress;
+import auction.arena.ArenaResults;
+import auction.arena.ArenaWorkQueue;
+import auction.arena.BidderArena;
+import auction.arena.BidderMetrics;
+import auction.arena.LadderTournament;
+import auction.arena.MetricsServer;
+import auction.arena.ParameterSweep;
+import auction.arena.Ratings;
+import auction.arena.SweepResults;
+import auction.arena.ResultCache;
 import auction.bidders.*;
 import auction.bidders.mybidder.MyBidder;
+import auction.bidders.mybidder.MyBidderParameters;
+import auction.bidders.mybidder.MyBidderParameters.Parameter;
+import auction.bidders.solver.EquilibriumSolver;
+import auction.bidders.solver.Policy;
+import auction.bidders.solver.SolverBidder;
+import auction.jfr.RoundEvent;
+import auction.market.BidderAdapter;
+import auction.market.Market;
+import auction.market.MarketBidder;
+import auction.market.MarketResult;
+import auction.transcript.ReplayEngine;
+import auction.transcript.TranscriptWriter;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
 
 public class Main {
+    /**
+     * The bidders that every mode below compares. Add your bidder here, modes that need more bidders extend this list.
+     * Bidders are stateful, so these are factories, see {@link BidderArena}.
+     */
+    final static List<Supplier<Bidder>> BIDDERS = List.of(
+        SimpleBidder::new,
+        RandomBidder::new,
+        TitForTatBidder::new,
+        RandomBidder2::new,
+        SimpleHighBidder::new,
+        MyBidder::new
+    );
     /**
      * How many QU are in each auction simulated below.
      */
@@ -17,9 +68,104 @@ public class Main {
      * How many times each auction is repeated in the bidder arena.
      */
     final static int AUCTION_REPEATS = 5000;
+    /**
+     * Master seed of the bidder arena. The same seed gives the same results.
+     */
+    final static long SEED = 42;
+    /**
+     * MU per cash level of the equilibrium solver. Smaller steps are more exact, but take much longer to solve.
+     */
+    final static int SOLVER_STEP = 10;
+    /**
+     * File that stores the results of arena pairings, so only changed pairings are simulated again.
+     */
+    final static Path RESULT_CACHE = Path.of("build", "arena-cache.bin");
+    /**
+     * Width of the 95% confidence interval of a score at which the adaptive arena stops a pairing.
+     * AUCTION_REPEATS is the maximum number of auctions per pairing.
+     */
+    final static double CONFIDENCE_WIDTH = 0.02;
+    /**
+     * File that stores the bids of every round of a recorded arena run.
+     */
+    final static Path TRANSCRIPT = Path.of("build", "transcript.bin");
+    /**
+     * Whether the bidder arena measures the latency and allocations of the bidders.
+     * Measuring times every bidder call and bypasses the result cache, so keep this off for normal runs.
+     */
+    final static boolean MEASURE_BIDDERS = false;
+    /**
+     * Whether the bidder arena and the long-horizon arena serve their live progress at http://localhost:METRICS_PORT/metrics,
+     * see {@link MetricsServer}.
+     */
+    final static boolean SERVE_METRICS = false;
+    /**
+     * The port of the metrics, on the loopback address only.
+     */
+    final static int METRICS_PORT = 9464;
+    /**
+     * How many copies of each kind of bidder take part in a market auction or a ladder tournament.
+     */
+    final static int COPIES_PER_KIND = 20;
+    /**
+     * Rating deviation at which the ladder tournament stops. Ratings are then known to about +-2 deviations.
+     */
+    final static double TARGET_DEVIATION = 30;
+    /**
+     * How many random configurations of MyBidder the parameter sweep compares, besides the default configuration.
+     */
+    final static int SWEEP_CONFIGURATIONS = 31;
+    /**
+     * How many auctions each configuration plays against each opponent in the parameter sweep.
+     */
+    final static int SWEEP_REPEATS = 1000;
+    /**
+     * How long each call of a bidder may take in the arena with deadlines. A bidder that takes longer forfeits the auction.
+     */
+    final static Duration BIDDER_DEADLINE = Duration.ofMillis(50);
+    /**
+     * How many auctions the batched arena runs in lockstep in one batch.
+     */
+    final static int BATCH_SIZE = 5000;
+    /**
+     * How many auctions each pairing plays in the batched arena.
+     */
+    final static int BATCHED_REPEATS = 100_000;
+    /**
+     * How many auctions each pairing plays in the variance-reduced arena, rounded up to a multiple of two.
+     */
+    final static int VARIANCE_REDUCED_REPEATS = 1000;
+    /**
+     * How many QU are in each auction of the long-horizon arena.
+     */
+    final static int LONG_HORIZON_QUANTITY = 100_000;
+    /**
+     * How many MU each bidder has in the long-horizon arena, close to the largest int.
+     */
+    final static int LONG_HORIZON_CASH = 1_000_000_000;
+    /**
+     * How many auctions each pairing plays in the long-horizon arena.
+     */
+    final static int LONG_HORIZON_REPEATS = 10;
+    /**
+     * Where the flight recording of the arena is written to.
+     */
+    final static Path FLIGHT_RECORDING = Path.of("build", "arena.jfr");
+    /**
+     * Rounds that take longer than this are recorded in the flight recording, faster rounds are left out.
+     */
+    final static Duration ROUND_EVENT_THRESHOLD = Duration.ofNanos(10_000);
 
-    public static void main(String[] args) {
-        runBidderArena();
+    /**
+     * Without arguments, runs the bidder arena.
+     * With "coordinator|worker|requeue|merge &lt;directory&gt;", runs one step of the sharded arena, see {@link #runShardedArena}.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 2) {
+            runShardedArena(args[0], Path.of(args[1]));
+        } else {
+            runBidderArena();
+        }
     }
 
     /**
@@ -35,73 +181,476 @@ public class Main {
     /**
      * Runs a series of auctions between different bidders to compare their performance.
      * Each bidder is paired with every other bidder, and the results are stored in a matrix.
+     * The pairings and repeats are spread over all available cores.
+     * Pairings of bidders that did not change since the last run are read from the result cache,
+     * unless the bidders are measured.
+     */
+    public static void runBidderArena() throws IOException {
+        BidderArena arena = new BidderArena(BIDDERS, INITIAL_QUANTITY, INITIAL_CASH, AUCTION_REPEATS, SEED);
+        ArenaResults results;
+        MetricsServer metrics = SERVE_METRICS ? serveMetrics(arena) : null;
+        try {
+            if (MEASURE_BIDDERS) {
+                results = arena.runMeasured();
+            } else {
+                Files.createDirectories(RESULT_CACHE.getParent());
+                try (ResultCache cache = ResultCache.open(RESULT_CACHE)) {
+                    results = arena.run(cache);
+                }
+            }
+        } finally {
+            closeMetrics(metrics);
+        }
+
+        printAuctionResults(getBidderNames(arena), results);
+    }
+
+    /**
+     * Runs the bidder arena with a deadline for every bidder call, so a slow or looping bidder cannot stall the arena.
+     * Prints how often each bidder missed the deadline below the matrix.
+     */
+    public static void runDeadlineArena() {
+        BidderArena arena = new BidderArena(BIDDERS, INITIAL_QUANTITY, INITIAL_CASH, AUCTION_REPEATS, SEED);
+        printAuctionResults(getBidderNames(arena), arena.runWithDeadline(BIDDER_DEADLINE));
+    }
+
+    /**
+     * Runs the bidder arena in several processes, which share a work directory. Start one process per step:
+     * <ul>
+     *     <li>coordinator: creates the work directory with all units of the arena</li>
+     *     <li>worker: runs units until none are left, start as many workers as you like, also on other cores</li>
+     *     <li>requeue: gives units of crashed workers, claimed more than an hour ago, to the next worker</li>
+     *     <li>merge: prints the results, once all units are finished</li>
+     * </ul>
+     *
+     * @param mode      coordinator, worker, requeue or merge
+     * @param directory the work directory
+     */
+    public static void runShardedArena(String mode, Path directory) throws IOException {
+        BidderArena arena = new BidderArena(BIDDERS, INITIAL_QUANTITY, INITIAL_CASH, AUCTION_REPEATS, SEED);
+        ArenaWorkQueue queue = new ArenaWorkQueue(directory, arena);
+        switch (mode) {
+            case "coordinator" -> {
+                queue.create();
+                System.out.printf("Created %d units in %s%n", arena.getUnitCount(), directory);
+            }
+            case "worker" -> {
+                String workerId = String.valueOf(ProcessHandle.current().pid());
+                int units = queue.work(workerId);
+                System.out.printf("Worker %s ran %d units%n", workerId, units);
+            }
+            case "requeue" -> System.out.printf("Requeued %d units%n", queue.requeueStale(Duration.ofHours(1)));
+            case "merge" -> printAuctionResults(getBidderNames(arena), queue.merge());
+            default -> throw new IllegalArgumentException("Unknown mode " + mode + ", use coordinator, worker, requeue or merge");
+        }
+    }
+
+    /**
+     * Runs the bidder arena with adaptive repeats: each pairing stops as soon as its score is known precisely enough.
+     * Prints the confidence interval and the number of auctions next to each score.
+     */
+    public static void runAdaptiveArena() {
+        BidderArena arena = new BidderArena(BIDDERS, INITIAL_QUANTITY, INITIAL_CASH, AUCTION_REPEATS, SEED);
+        ArenaResults results = arena.runAdaptive(CONFIDENCE_WIDTH);
+
+        printAuctionResults(getBidderNames(arena), results);
+        printConfidenceIntervals(getBidderNames(arena), results);
+    }
+
+    /**
+     * Runs the bidder arena with variance reduction and prints the results with the measured standard errors.
+     */
+    public static void runVarianceReducedArena() {
+        BidderArena arena = new BidderArena(BIDDERS, INITIAL_QUANTITY, INITIAL_CASH, VARIANCE_REDUCED_REPEATS, SEED);
+        ArenaResults results = arena.runVarianceReduced();
+
+        printAuctionResults(getBidderNames(arena), results);
+        printStandardErrors(getBidderNames(arena), results);
+    }
+
+    /**
+     * Runs the bidder arena with the batch engine, which runs {@link #BATCH_SIZE} auctions of a pairing in lockstep,
+     * see {@link BidderArena#runBatched()}.
+     */
+    public static void runBatchedArena() {
+        BidderArena arena = new BidderArena(BIDDERS, INITIAL_QUANTITY, INITIAL_CASH, BATCHED_REPEATS, BATCH_SIZE, SEED);
+        printAuctionResults(getBidderNames(arena), arena.runBatched());
+    }
+
+    /**
+     * Runs the bidder arena with MyBidder once with the threshold classifier and once with the Bayesian classifier.
+     */
+    public static void runClassifierComparison() {
+        List<Supplier<Bidder>> bidders = new ArrayList<>(BIDDERS);
+        bidders.add(() -> new MyBidder(MyBidderParameters.DEFAULT, MyBidder.Classifier.BAYESIAN));
+
+        BidderArena arena = new BidderArena(bidders, INITIAL_QUANTITY, INITIAL_CASH, AUCTION_REPEATS, SEED);
+        String[] names = getBidderNames(arena);
+        names[names.length - 1] = "MyBidder (Bayesian)";
+        printAuctionResults(names, arena.run());
+    }
+
+    /**
+     * Runs the bidder arena with a Java Flight Recorder recording and writes it to {@link #FLIGHT_RECORDING}.
+     * Besides the events of the JDK profiling settings, the recording has every auction and categorization,
+     * and the rounds slower than {@link #ROUND_EVENT_THRESHOLD}. Show them with
+     * {@code jfr print --events auction.Auction build/arena.jfr} or open the recording in JDK Mission Control.
+     */
+    public static void runFlightRecording() throws IOException, ParseException {
+        BidderArena arena = new BidderArena(BIDDERS, INITIAL_QUANTITY, INITIAL_CASH, AUCTION_REPEATS, SEED);
+        ArenaResults results;
+        try (Recording recording = new Recording(Configuration.getConfiguration("profile"))) {
+            recording.enable(RoundEvent.class).withThreshold(ROUND_EVENT_THRESHOLD);
+            recording.start();
+            results = arena.run();
+            recording.stop();
+            Files.createDirectories(FLIGHT_RECORDING.getParent());
+            recording.dump(FLIGHT_RECORDING);
+        }
+
+        printAuctionResults(getBidderNames(arena), results);
+        System.out.println("Flight recording written to " + FLIGHT_RECORDING);
+    }
+
+    /**
+     * Runs the bidder arena with auctions of many rounds and cash close to the largest int.
+     * Every bidder spends constant time per round, so this takes about as long as the default arena.
      */
-    public static void runBidderArena() {
-        Bidder[] bidders = {
-            new SimpleBidder(),
-            new RandomBidder(),
-            new TitForTatBidder(),
-            new RandomBidder2(),
-            new SimpleHighBidder(),
-            new MyBidder(),
-        };
-
-        // Stores how many points each bidder has against each other bidder
-        // results[i][j] = points for bidder i against bidder j
-        int[][] results = new int[bidders.length][bidders.length];
-
-        for (int i = 0; i < bidders.length; i++) {
-            Bidder bidder = bidders[i];
-
-            // Pair this bidder with all other bidders in the list
-            for (int j = i + 1; j < bidders.length; j++) {
-                Bidder otherBidder = bidders[j];
-
-                Auction auction = new Auction(bidder, otherBidder, INITIAL_QUANTITY, INITIAL_CASH);
-                // Repeat the auction multiple times to get a better average result
-                for (int k = 0; k < AUCTION_REPEATS; k++) {
-                    switch (auction.run(false)) {
-                        case BIDDER_1_WINS:
-                            results[i][j] += 2;
-                            break;
-                        case BIDDER_2_WINS:
-                            results[j][i] += 2;
-                            break;
-                        case TIE:
-                            results[i][j] += 1;
-                            results[j][i] += 1;
-                            break;
-                    }
+    public static void runLongHorizonArena() throws IOException {
+        BidderArena arena = new BidderArena(BIDDERS, LONG_HORIZON_QUANTITY, LONG_HORIZON_CASH, LONG_HORIZON_REPEATS, SEED);
+        ArenaResults results;
+        MetricsServer metrics = SERVE_METRICS ? serveMetrics(arena) : null;
+        try {
+            results = arena.run();
+        } finally {
+            closeMetrics(metrics);
+        }
+        printAuctionResults(getBidderNames(arena), results);
+    }
+
+    /**
+     * Solves the auction for an equilibrium policy, unless a policy file exists already,
+     * and runs the bidder arena with a {@link SolverBidder} that plays this policy.
+     */
+    public static void runEquilibriumSolver() throws IOException {
+        Path file = Path.of("build", "policy-" + INITIAL_QUANTITY + "-" + INITIAL_CASH + "-" + SOLVER_STEP + ".bin");
+        if (!Files.exists(file)) {
+            Files.createDirectories(file.getParent());
+            double value = new EquilibriumSolver(INITIAL_QUANTITY, INITIAL_CASH, SOLVER_STEP).solve(file);
+            System.out.printf("Solved %s, value of the initial state is %.4f%n", file, value);
+        }
+        Policy policy = Policy.load(file);
+
+        List<Supplier<Bidder>> bidders = new ArrayList<>(BIDDERS);
+        bidders.add(() -> new SolverBidder(policy));
+        BidderArena arena = new BidderArena(bidders, INITIAL_QUANTITY, INITIAL_CASH, AUCTION_REPEATS, SEED);
+        printAuctionResults(getBidderNames(arena), arena.run());
+    }
+
+    /**
+     * Runs the bidder arena and records every round to a transcript.
+     * Then replays the recorded bids of every bidder against a fresh {@link MyBidder}.
+     */
+    public static void runRecordedArena() throws IOException {
+        BidderArena arena = new BidderArena(BIDDERS, INITIAL_QUANTITY, INITIAL_CASH, AUCTION_REPEATS, SEED);
+        Files.createDirectories(TRANSCRIPT.getParent());
+        Files.deleteIfExists(TRANSCRIPT);
+        ArenaResults results;
+        try (TranscriptWriter transcript = new TranscriptWriter(TRANSCRIPT)) {
+            results = arena.run(transcript);
+        }
+        String[] names = getBidderNames(arena);
+        printAuctionResults(names, results);
+        System.out.printf("%nRecorded %d bytes to %s%n", Files.size(TRANSCRIPT), TRANSCRIPT);
+
+        ReplayEngine engine = new ReplayEngine(TRANSCRIPT);
+        for (int i = 0; i < names.length; i++) {
+            int[] counts = engine.replay(i, new MyBidder(), SEED);
+            System.out.printf("MyBidder against recorded %-18s %5d wins, %5d ties, %5d losses%n", names[i] + ":", counts[0], counts[1], counts[2]);
+        }
+    }
+
+    /**
+     * Compares random configurations of {@link MyBidder} against the default bidders, and prints the best ones.
+     * All configurations face the same random numbers, so even small differences in the scores are meaningful.
+     */
+    public static void runParameterSweep() {
+        Map<Parameter, double[]> ranges = Map.of(
+            Parameter.TIT_FOR_TAT_THRESHOLD, new double[]{0.6, 0.95},
+            Parameter.SIMPLE_AGGRESSIVE_THRESHOLD, new double[]{0.6, 0.95},
+            Parameter.SIMPLE_CONSERVATIVE_THRESHOLD, new double[]{0.6, 0.95},
+            Parameter.TIT_FOR_TAT_MULTIPLIER, new double[]{1.0, 1.6},
+            Parameter.HIGH_BID_MULTIPLIER, new double[]{1.0, 1.6},
+            Parameter.CONSERVATIVE_MULTIPLIER, new double[]{1.0, 1.6},
+            Parameter.RANDOM_MULTIPLIER, new double[]{1.0, 2.0}
+        );
+
+        List<MyBidderParameters> configurations = new ArrayList<>();
+        configurations.add(MyBidderParameters.DEFAULT);
+        configurations.addAll(MyBidderParameters.random(MyBidderParameters.DEFAULT, ranges, SWEEP_CONFIGURATIONS, SEED));
+        List<Supplier<Bidder>> candidates = new ArrayList<>();
+        for (MyBidderParameters configuration : configurations) {
+            candidates.add(() -> new MyBidder(configuration));
+        }
+
+        ParameterSweep sweep = new ParameterSweep(BIDDERS, INITIAL_QUANTITY, INITIAL_CASH, SWEEP_REPEATS, SEED);
+        SweepResults results = sweep.run(candidates);
+
+        System.out.printf("%n-- Parameter Sweep (%d configurations, score out of 100 against a - %c) --%n%n",
+                configurations.size(), 'a' + BIDDERS.size() - 1);
+        System.out.print("rank | score      |");
+        for (int opponent = 0; opponent < BIDDERS.size(); opponent++) {
+            System.out.printf(" %c |", 'a' + opponent);
+        }
+        System.out.println(" configuration");
+        int[] ranking = results.getRanking();
+        for (int rank = 0; rank < ranking.length; rank++) {
+            int candidate = ranking[rank];
+            System.out.printf("%4d | %5.1f+-%3.1f |", rank + 1,
+                    100 * results.getScore(candidate), 100 * results.getConfidenceHalfWidth(candidate));
+            for (int opponent = 0; opponent < BIDDERS.size(); opponent++) {
+                System.out.printf("%3d|", Math.round(100 * results.getScore(candidate, opponent)));
+            }
+            System.out.println(" " + configurations.get(candidate));
+        }
+    }
+
+    /**
+     * Ranks the bidders with a ladder tournament instead of the full round robin of the arena.
+     * This is meant for large pools, here each kind of bidder is added several times to show that copies of
+     * the same bidder end up with about the same rating.
+     */
+    public static void runLadderTournament() {
+        List<Supplier<Bidder>> bidders = new ArrayList<>();
+        for (int k = 0; k < BIDDERS.size() * COPIES_PER_KIND; k++) {
+            bidders.add(BIDDERS.get(k % BIDDERS.size()));
+        }
+        LadderTournament tournament = new LadderTournament(bidders, INITIAL_QUANTITY, INITIAL_CASH,
+                LadderTournament.DEFAULT_AUCTIONS_PER_MATCH, SEED);
+        Ratings ratings = tournament.run(TARGET_DEVIATION, 1000);
+
+        System.out.printf("%n-- Ladder Ratings (%d bidders) --%n%n", bidders.size());
+        for (int i : ratings.getRanking()) {
+            String name = bidders.get(i).get().getClass().getSimpleName();
+            System.out.printf("%4d %-18s %6.0f +- %3.0f (%d auctions)%n", i, name,
+                    ratings.getRating(i), 2 * ratings.getDeviation(i), ratings.getAuctions(i));
+        }
+    }
+
+    /**
+     * Computes the exact results of every pairing of a random bidder with a deterministic bidder,
+     * which the bidder arena only estimates, see {@link ExactEvaluator}.
+     */
+    public static void runExactEvaluation() {
+        System.out.println("\n-- Exact Results (win / tie / loss in %) --\n");
+        for (Supplier<Bidder> supplier1 : BIDDERS) {
+            for (Supplier<Bidder> supplier2 : BIDDERS) {
+                Bidder bidder1 = supplier1.get();
+                Bidder bidder2 = supplier2.get();
+                // Bidders that learn from the whole history, like MyBidder, have no model
+                if (!BidModels.hasModel(bidder1) || !BidModels.hasModel(bidder2)) {
+                    continue;
                 }
+                // Two random bidders have too many states, and two deterministic bidders play a single auction
+                if (bidder1.isDeterministic() == bidder2.isDeterministic()) {
+                    continue;
+                }
+                long start = System.nanoTime();
+                AuctionProbabilities probabilities = new ExactEvaluator(BidModels.forBidder(bidder1),
+                        BidModels.forBidder(bidder2), INITIAL_QUANTITY, INITIAL_CASH).evaluate();
+                System.out.printf("%-16s vs %-16s %7.3f / %7.3f / %7.3f   %7d states %6d ms%n",
+                        bidder1.getClass().getSimpleName(), bidder2.getClass().getSimpleName(),
+                        probabilities.getProbability(AuctionResult.BIDDER_1_WINS) * 100.0,
+                        probabilities.getProbability(AuctionResult.TIE) * 100.0,
+                        probabilities.getProbability(AuctionResult.BIDDER_2_WINS) * 100.0,
+                        probabilities.getMaxStates(), (System.nanoTime() - start) / 1_000_000);
             }
         }
+    }
 
-        printAuctionResults(bidders, results);
+    /**
+     * Runs market auctions with many bidders of each kind at once, and counts how often each kind wins.
+     * The two-bidder bidders see the market as a single opponent, see {@link BidderAdapter}.
+     */
+    public static void runMarket() {
+        List<MarketBidder> bidders = new ArrayList<>();
+        for (int k = 0; k < BIDDERS.size() * COPIES_PER_KIND; k++) {
+            bidders.add(new BidderAdapter(BIDDERS.get(k % BIDDERS.size()).get()));
+        }
+        Market market = new Market(bidders, INITIAL_QUANTITY, 2, INITIAL_CASH, SEED);
+        int[] wins = new int[BIDDERS.size()];
+        for (int repeat = 0; repeat < AUCTION_REPEATS / 10; repeat++) {
+            MarketResult result = market.run();
+            for (int seat = 0; seat < bidders.size(); seat++) {
+                if (result.isWinner(seat)) {
+                    wins[seat % BIDDERS.size()]++;
+                }
+            }
+        }
+
+        System.out.printf("%n-- Market Results (%d bidders, %d auctions) --%n%n", bidders.size(), AUCTION_REPEATS / 10);
+        for (int k = 0; k < BIDDERS.size(); k++) {
+            String name = ((BidderAdapter) bidders.get(k)).getBidder().getClass().getSimpleName();
+            System.out.printf("%-18s %5d wins%n", name, wins[k]);
+        }
+    }
+
+    /**
+     * Lets the arena report its progress and serves it at {@link #METRICS_PORT} until the server is closed.
+     */
+    private static MetricsServer serveMetrics(BidderArena arena) throws IOException {
+        ArenaProgress progress = new ArenaProgress(arena.getBidderCount());
+        arena.setProgress(progress);
+        MetricsServer server = MetricsServer.start(METRICS_PORT, progress, getBidderNames(arena));
+        System.out.println("Serving metrics at http://localhost:" + server.getPort() + "/metrics");
+        return server;
+    }
+
+    /**
+     * Stops serving the metrics, if they were served.
+     *
+     * @param metrics the server of {@link #serveMetrics}, or null
+     */
+    private static void closeMetrics(MetricsServer metrics) {
+        if (metrics != null) {
+            metrics.close();
+        }
+    }
+
+    /**
+     * Returns the class names of the bidders in the arena.
+     */
+    private static String[] getBidderNames(BidderArena arena) {
+        String[] names = new String[arena.getBidderCount()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = arena.createBidder(i).getClass().getSimpleName();
+        }
+        return names;
     }
 
     /**
      * Prints the results of the auction in a matrix format.
+     * If the bidders were measured, their latency and allocations are printed below the matrix,
+     * if bidders missed deadlines, their timeouts are printed as well.
      *
-     * @param bidders The array of bidders
-     * @param results The results matrix
+     * @param names   The names of the bidders
+     * @param results The results of the arena
      */
-    private static void printAuctionResults(Bidder[] bidders, int[][] results) {
+    private static void printAuctionResults(String[] names, ArenaResults results) {
         System.out.println("\n-- Auction Results --\n");
         // Print bidders
-        for (int i = 0; i < bidders.length; i++) {
-            System.out.printf("%c - %s\n", 'a' + i, bidders[i].getClass().getSimpleName());
+        for (int i = 0; i < names.length; i++) {
+            System.out.printf("%c - %s\n", 'a' + i, names[i]);
         }
         // Print the results as a matrix
         System.out.print("\n  |");
-        for (int i = 0; i < bidders.length; i++) {
+        for (int i = 0; i < names.length; i++) {
             System.out.printf(" %c |", 'a' + i);
         }
-        for (int i = 0; i < bidders.length; i++) {
+        for (int i = 0; i < names.length; i++) {
             System.out.print("\n");
             System.out.printf("%c |", 'a' + i);
-            for (int j = 0; j < bidders.length; j++) {
+            for (int j = 0; j < names.length; j++) {
                 /// Print the results out of 100
-                System.out.printf("%3d|", Math.round((results[i][j] / (AUCTION_REPEATS * 2.0)) * 100.0));
+                int auctions = results.getAuctions(i, j);
+                double score = auctions == 0 ? 0.0 : results.getPoints(i, j) / (auctions * 2.0);
+                System.out.printf("%3d|", Math.round(score * 100.0));
+            }
+        }
+        if (results.getMetrics(0) != null) {
+            printBidderMetrics(names, results);
+        }
+        int timeouts = 0;
+        for (int i = 0; i < names.length; i++) {
+            timeouts += results.getTimeouts(i);
+        }
+        if (timeouts > 0) {
+            System.out.print("\n\nTimeouts:");
+            for (int i = 0; i < names.length; i++) {
+                System.out.printf(" %c=%d", 'a' + i, results.getTimeouts(i));
+            }
+        }
+    }
+
+    /**
+     * Prints the percentiles of the latency of placeBid() and bids() in nanoseconds,
+     * and the bytes allocated per auction, of each bidder.
+     *
+     * @param names   The names of the bidders
+     * @param results The results of a measured arena run
+     */
+    private static void printBidderMetrics(String[] names, ArenaResults results) {
+        System.out.println("\n\n-- Bidder costs (latency in ns: p50 / p99 / p99.9) --\n");
+        System.out.printf("  | %-24s | %-24s | %13s%n", "placeBid()", "bids()", "bytes/auction");
+        for (int i = 0; i < names.length; i++) {
+            BidderMetrics metrics = results.getMetrics(i);
+            System.out.printf("%c | %6d / %6d / %6d | %6d / %6d / %6d | %13.1f%n", 'a' + i,
+                    metrics.getPlaceBidLatency().getPercentile(50),
+                    metrics.getPlaceBidLatency().getPercentile(99),
+                    metrics.getPlaceBidLatency().getPercentile(99.9),
+                    metrics.getBidsLatency().getPercentile(50),
+                    metrics.getBidsLatency().getPercentile(99),
+                    metrics.getBidsLatency().getPercentile(99.9),
+                    metrics.getAllocatedBytesPerAuction());
+        }
+    }
+
+    /**
+     * Prints the half-width of the 95% confidence interval and the number of auctions of each score,
+     * both out of 100 like the scores.
+     *
+     * @param names   The names of the bidders
+     * @param results The results of the arena
+     */
+    private static void printConfidenceIntervals(String[] names, ArenaResults results) {
+        System.out.println("\n\n-- Confidence intervals (score +- half-width / auctions) --\n");
+        System.out.print("  |");
+        for (int i = 0; i < names.length; i++) {
+            System.out.printf("       %c       |", 'a' + i);
+        }
+        for (int i = 0; i < names.length; i++) {
+            System.out.print("\n");
+            System.out.printf("%c |", 'a' + i);
+            for (int j = 0; j < names.length; j++) {
+                if (i == j) {
+                    System.out.print("               |");
+                } else {
+                    System.out.printf("%3d+-%4.1f/%-5d|", Math.round(results.getScore(i, j) * 100.0),
+                            results.getConfidenceHalfWidth(i, j) * 100.0, results.getAuctions(i, j));
+                }
+            }
+        }
+    }
+
+    /**
+     * Prints the score of each pairing with its measured standard error, both out of 100 like the scores,
+     * and the efficiency: how many times more independent auctions would give the same standard error.
+     *
+     * @param names   The names of the bidders
+     * @param results The results of the arena
+     */
+    private static void printStandardErrors(String[] names, ArenaResults results) {
+        System.out.println("\n\n-- Standard errors (score +- standard error x efficiency) --\n");
+        System.out.print("  |");
+        for (int i = 0; i < names.length; i++) {
+            System.out.printf("       %c       |", 'a' + i);
+        }
+        for (int i = 0; i < names.length; i++) {
+            System.out.print("\n");
+            System.out.printf("%c |", 'a' + i);
+            for (int j = 0; j < names.length; j++) {
+                double standardError = results.getStandardError(i, j);
+                double independentError = results.getIndependentStandardError(i, j);
+                if (i == j) {
+                    System.out.print("               |");
+                } else if (standardError == 0.0) {
+                    // Both bidders play the same auction every time, there is no variance to reduce
+                    System.out.printf("%3d+- 0.0      |", Math.round(results.getScore(i, j) * 100.0));
+                } else {
+                    double efficiency = Math.pow(independentError / standardError, 2);
+                    System.out.printf("%3d+-%4.1f x%4.2f|", Math.round(results.getScore(i, j) * 100.0),
+                            standardError * 100.0, efficiency);
+                }
             }
         }
     }
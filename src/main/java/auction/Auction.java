@@ -1,7 +1,16 @@
 package auction;
 
+import auction.jfr.AuctionEvent;
+import auction.jfr.RoundEvent;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
 /**
  * Runs an auction with two bidders.
+ * <p>
+ * Every run is recorded as an {@link AuctionEvent} and every round as a {@link RoundEvent}, if a Java Flight Recorder
+ * recording has these events enabled. Otherwise, no event is created, so the cost is one check per run and round.
  */
 public class Auction {
     private final Bidder bidder1;
@@ -12,9 +21,17 @@ public class Auction {
     // The initial amount of money each bidder has.
     // Must be positive.
     private final int initialMoney;
+    // The random sources of the bidders, which are passed to them at the start of every run.
+    private final RandomGenerator random1;
+    private final RandomGenerator random2;
+    // Observes every run, AuctionListener.NONE if nobody observes.
+    private final AuctionListener listener;
+    // The quantities and cash of both bidders, reset at the start of every run
+    private final BidderData bidder1Data;
+    private final BidderData bidder2Data;
 
     /**
-     * Creates a new auction with two bidders.
+     * Creates a new auction with two bidders, each with an unseeded random source.
      *
      * @param bidder1      the first bidder
      * @param bidder2      the second bidder
@@ -22,51 +39,132 @@ public class Auction {
      * @param initialMoney the initial amount of money each bidder has
      */
     public Auction(Bidder bidder1, Bidder bidder2, int quantity, int initialMoney) {
+        this(bidder1, bidder2, quantity, initialMoney, new SplittableRandom(), new SplittableRandom());
+    }
+
+    /**
+     * Creates a new auction with two bidders and their random sources.
+     * With seeded random sources, repeated runs of the auction are reproducible.
+     *
+     * @param bidder1      the first bidder
+     * @param bidder2      the second bidder
+     * @param quantity     the total quantity of the product to be auctioned
+     * @param initialMoney the initial amount of money each bidder has
+     * @param random1      the random source of the first bidder
+     * @param random2      the random source of the second bidder
+     */
+    public Auction(Bidder bidder1, Bidder bidder2, int quantity, int initialMoney,
+                   RandomGenerator random1, RandomGenerator random2) {
+        this(bidder1, bidder2, quantity, initialMoney, random1, random2, AuctionListener.NONE);
+    }
+
+    /**
+     * Creates a new auction with two bidders, their random sources and a listener that observes every run.
+     *
+     * @param bidder1      the first bidder
+     * @param bidder2      the second bidder
+     * @param quantity     the total quantity of the product to be auctioned
+     * @param initialMoney the initial amount of money each bidder has
+     * @param random1      the random source of the first bidder
+     * @param random2      the random source of the second bidder
+     * @param listener     the listener, or {@link AuctionListener#NONE}
+     */
+    public Auction(Bidder bidder1, Bidder bidder2, int quantity, int initialMoney,
+                   RandomGenerator random1, RandomGenerator random2, AuctionListener listener) {
         this.bidder1 = bidder1;
         this.bidder2 = bidder2;
         this.initialQuantity = quantity;
         this.initialMoney = initialMoney;
+        this.random1 = random1;
+        this.random2 = random2;
+        this.listener = listener;
+        this.bidder1Data = new BidderData(quantity, initialMoney);
+        this.bidder2Data = new BidderData(quantity, initialMoney);
 
         assert quantity % 2 == 0 : "Initial quantity must be even";
         assert quantity > 0 : "Initial quantity must be greater than zero";
         assert initialMoney > 0 : "Initial money must be greater than zero";
     }
 
+    /**
+     * Runs the auction and reports it to the listener of this auction.
+     * <p>
+     * This method initializes both bidders and runs the auction rounds.
+     * Once the bidders are warmed up, a run does not allocate anything.
+     */
+    public AuctionResult run() {
+        return run(listener);
+    }
+
     /**
      * Runs the auction.
      * <p>
      * This method initializes both bidders and runs the auction rounds.
      *
-     * @param verbose If true, prints detailed information about each round.
+     * @param verbose If true, prints detailed information about each round, in addition to the listener of this auction.
      */
     public AuctionResult run(boolean verbose) {
-        bidder1.init(initialQuantity, initialMoney);
-        bidder2.init(initialQuantity, initialMoney);
+        return run(verbose ? AuctionListener.both(listener, new PrintingAuctionListener()) : listener);
+    }
+
+    private AuctionResult run(AuctionListener listener) {
+        if (!AuctionEvent.isTypeEnabled()) {
+            return play(listener);
+        }
+        AuctionEvent event = new AuctionEvent();
+        event.begin();
+        AuctionResult result = play(listener);
+        event.end();
+        if (event.shouldCommit()) {
+            event.bidder1 = bidder1.getClass();
+            event.bidder2 = bidder2.getClass();
+            event.quantity = initialQuantity;
+            event.cash = initialMoney;
+            event.result = result.name();
+            event.quantityWon1 = bidder1Data.getQuantity() - initialQuantity;
+            event.quantityWon2 = bidder2Data.getQuantity() - initialQuantity;
+            event.cash1 = bidder1Data.getCash();
+            event.cash2 = bidder2Data.getCash();
+            event.commit();
+        }
+        return result;
+    }
+
+    /**
+     * Initializes both bidders and runs all rounds.
+     */
+    private AuctionResult play(AuctionListener listener) {
+        bidder1.init(initialQuantity, initialMoney, random1);
+        bidder2.init(initialQuantity, initialMoney, random2);
+        listener.auctionStarted(initialQuantity, initialMoney);
 
         // Initial quantities and cash for both bidders
-        BidderData bidder1Data = new BidderData(initialQuantity, initialMoney);
-        BidderData bidder2Data = new BidderData(initialQuantity, initialMoney);
+        bidder1Data.reset(initialQuantity, initialMoney);
+        bidder2Data.reset(initialQuantity, initialMoney);
         // Auction rounds
         for (int round = 0; round < initialQuantity / 2; round++) {
-            if (verbose) System.out.printf("Round %d/%d ", round + 1, initialQuantity / 2);
-            runRound(bidder1Data, bidder2Data, verbose);
+            runRound(round, bidder1Data, bidder2Data, listener);
         }
         AuctionResult result = AuctionResult.fromBidderData(bidder1Data, bidder2Data);
-        if (verbose) printResults(result, bidder1Data, bidder2Data);
+        listener.auctionFinished(result, bidder1Data, bidder2Data);
         return result;
     }
 
     /**
      * Runs a single round of the auction.
+     * @param round The round, starting at 0
      * @param bidder1Data The data for bidder 1
      * @param bidder2Data The data for bidder 2
-     * @param verbose If true, prints detailed information about the bids
+     * @param listener The listener that is told about the bids
      */
-    public void runRound(BidderData bidder1Data, BidderData bidder2Data, boolean verbose) {
+    private void runRound(int round, BidderData bidder1Data, BidderData bidder2Data, AuctionListener listener) {
+        RoundEvent event = RoundEvent.isTypeEnabled() ? new RoundEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
         // Get bids
         int bid1 = bidder1.placeBid();
         int bid2 = bidder2.placeBid();
-        if (verbose) System.out.printf("Bidder 1 bids %d, Bidder 2 bids %d%n", bid1, bid2);
         assert bid1 >= 0 && bid2 >= 0 : "Bids must be non-negative";
 
         // Process bids
@@ -76,6 +174,19 @@ public class Auction {
         // Notify bidders of the bids
         bidder1.bids(bid1, bid2);
         bidder2.bids(bid2, bid1);
+        listener.roundPlayed(round, bid1, bid2, bidder1Data, bidder2Data);
+
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.round = round;
+                event.bid1 = bid1;
+                event.bid2 = bid2;
+                event.cash1 = bidder1Data.getCash();
+                event.cash2 = bidder2Data.getCash();
+                event.commit();
+            }
+        }
     }
 
     /**
@@ -84,20 +195,6 @@ public class Auction {
      * @param bidder2Data The data for bidder 2
      */
     public void printResults(AuctionResult result, BidderData bidder1Data, BidderData bidder2Data) {
-        System.out.println("\n-- Auction Results --\n");
-        System.out.printf("Bidder 1: %d QU, %d MU remaining%n", bidder1Data.getQuantity(), bidder1Data.getCash());
-        System.out.printf("Bidder 2: %d QU, %d MU remaining%n", bidder2Data.getQuantity(), bidder2Data.getCash());
-        switch (result) {
-            case BIDDER_1_WINS:
-                System.out.println("Bidder 1 wins!");
-                break;
-            case BIDDER_2_WINS:
-                System.out.println("Bidder 2 wins!");
-                break;
-            case TIE:
-                System.out.println("Tie!");
-                break;
-        }
+        new PrintingAuctionListener().auctionFinished(result, bidder1Data, bidder2Data);
     }
 }
-
@@ -0,0 +1,78 @@
+package auction;
+
+/**
+ * Observes the course of an {@link Auction}.
+ * <p>
+ * All callbacks have empty defaults, so a listener only overrides what it needs.
+ * An auction without a listener uses {@link #NONE}. As long as only this listener is used at a call site,
+ * the JIT inlines its empty callbacks, so observing costs nothing when nobody observes.
+ */
+public interface AuctionListener {
+    /**
+     * The listener that ignores all events.
+     */
+    AuctionListener NONE = new AuctionListener() {
+    };
+
+    /**
+     * Called before the first round, after both bidders were initialized.
+     *
+     * @param quantity the total quantity of the product to be auctioned
+     * @param cash     the initial amount of money each bidder has
+     */
+    default void auctionStarted(int quantity, int cash) {
+    }
+
+    /**
+     * Called after each round, after the bids were processed and both bidders were notified.
+     *
+     * @param round       the round, starting at 0
+     * @param bid1        the bid of bidder 1
+     * @param bid2        the bid of bidder 2
+     * @param bidder1Data the data of bidder 1 after this round. Only valid during the call.
+     * @param bidder2Data the data of bidder 2 after this round. Only valid during the call.
+     */
+    default void roundPlayed(int round, int bid1, int bid2, BidderData bidder1Data, BidderData bidder2Data) {
+    }
+
+    /**
+     * Called after the last round.
+     *
+     * @param result      the result of the auction
+     * @param bidder1Data the final data of bidder 1
+     * @param bidder2Data the final data of bidder 2
+     */
+    default void auctionFinished(AuctionResult result, BidderData bidder1Data, BidderData bidder2Data) {
+    }
+
+    /**
+     * @return a listener that passes every event to the first and then to the second listener
+     */
+    static AuctionListener both(AuctionListener first, AuctionListener second) {
+        if (first == NONE) {
+            return second;
+        }
+        if (second == NONE) {
+            return first;
+        }
+        return new AuctionListener() {
+            @Override
+            public void auctionStarted(int quantity, int cash) {
+                first.auctionStarted(quantity, cash);
+                second.auctionStarted(quantity, cash);
+            }
+
+            @Override
+            public void roundPlayed(int round, int bid1, int bid2, BidderData bidder1Data, BidderData bidder2Data) {
+                first.roundPlayed(round, bid1, bid2, bidder1Data, bidder2Data);
+                second.roundPlayed(round, bid1, bid2, bidder1Data, bidder2Data);
+            }
+
+            @Override
+            public void auctionFinished(AuctionResult result, BidderData bidder1Data, BidderData bidder2Data) {
+                first.auctionFinished(result, bidder1Data, bidder2Data);
+                second.auctionFinished(result, bidder1Data, bidder2Data);
+            }
+        };
+    }
+}
@@ -17,10 +17,17 @@ public enum AuctionResult {
      */
 
     public static AuctionResult fromBidderData(BidderData bidder1Data, BidderData bidder2Data) {
-        if (bidder1Data.getQuantity() != bidder2Data.getQuantity()) {
-            return bidder1Data.getQuantity() > bidder2Data.getQuantity() ? BIDDER_1_WINS : BIDDER_2_WINS;
-        } else if (bidder1Data.getCash() != bidder2Data.getCash()) {
-            return bidder1Data.getCash() > bidder2Data.getCash() ? BIDDER_1_WINS : BIDDER_2_WINS;
+        return fromState(bidder1Data.getQuantity(), bidder1Data.getCash(), bidder2Data.getQuantity(), bidder2Data.getCash());
+    }
+
+    /**
+     * Calculates the winner based on the final quantity and cash of both bidders.
+     */
+    public static AuctionResult fromState(int quantity1, int cash1, int quantity2, int cash2) {
+        if (quantity1 != quantity2) {
+            return quantity1 > quantity2 ? BIDDER_1_WINS : BIDDER_2_WINS;
+        } else if (cash1 != cash2) {
+            return cash1 > cash2 ? BIDDER_1_WINS : BIDDER_2_WINS;
         } else {
             return TIE;
         }
@@ -1,4 +1,7 @@
 package auction;
+
+import java.util.random.RandomGenerator;
+
 /**
  * Represents a bidder for the action.
  */
@@ -11,6 +14,41 @@ public interface Bidder {
      */
     void init(int quantity, int cash);
 
+    /**
+     * Initializes the bidder with the production quantity, the allowed cash limit and the random source of the auction.
+     * Bidders that use randomness should draw all random numbers from this source,
+     * that way auctions with seeded sources can be reproduced.
+     *
+     * @param quantity the quantity
+     * @param cash     the cash limit
+     * @param random   the random source to use for this auction
+     */
+    default void init(int quantity, int cash, RandomGenerator random) {
+        init(quantity, cash);
+    }
+
+    /**
+     * Whether the bids of this bidder only depend on the quantity, the cash and the bids so far, never on randomness
+     * or on earlier auctions. Two deterministic bidders play the same auction every time,
+     * so the arena only simulates it once and counts the result for every repeat.
+     *
+     * @return true if the bidder is deterministic, false by default
+     */
+    default boolean isDeterministic() {
+        return false;
+    }
+
+    /**
+     * Describes how this bidder was configured, e.g. with the arguments of its constructor.
+     * Two bidders of the same class with the same configuration must bid the same way,
+     * because the result cache of the arena tells bidders apart by their class and this configuration.
+     *
+     * @return the configuration, empty by default for bidders that cannot be configured
+     */
+    default String getConfiguration() {
+        return "";
+    }
+
     /**
      * Retrieves the next bid for the product, which may be zero.
      *
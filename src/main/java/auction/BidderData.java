@@ -9,6 +9,14 @@ public class BidderData {
         this.cash = cash;
     }
 
+    /**
+     * Resets the data for a new auction, so the object can be reused.
+     */
+    public void reset(int quantity, int cash) {
+        this.quantity = quantity;
+        this.cash = cash;
+    }
+
     /**
      * Processes an auction round.
      * <p>
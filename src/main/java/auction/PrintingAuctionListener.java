@@ -0,0 +1,49 @@
+package auction;
+
+import java.io.PrintStream;
+
+/**
+ * Prints the bids of every round and the results of the auction.
+ * This is what {@code Auction.run(true)} prints.
+ */
+public class PrintingAuctionListener implements AuctionListener {
+    private final PrintStream out;
+    private int rounds;
+
+    public PrintingAuctionListener() {
+        this(System.out);
+    }
+
+    public PrintingAuctionListener(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void auctionStarted(int quantity, int cash) {
+        rounds = quantity / 2;
+    }
+
+    @Override
+    public void roundPlayed(int round, int bid1, int bid2, BidderData bidder1Data, BidderData bidder2Data) {
+        out.printf("Round %d/%d ", round + 1, rounds);
+        out.printf("Bidder 1 bids %d, Bidder 2 bids %d%n", bid1, bid2);
+    }
+
+    @Override
+    public void auctionFinished(AuctionResult result, BidderData bidder1Data, BidderData bidder2Data) {
+        out.println("\n-- Auction Results --\n");
+        out.printf("Bidder 1: %d QU, %d MU remaining%n", bidder1Data.getQuantity(), bidder1Data.getCash());
+        out.printf("Bidder 2: %d QU, %d MU remaining%n", bidder2Data.getQuantity(), bidder2Data.getCash());
+        switch (result) {
+            case BIDDER_1_WINS:
+                out.println("Bidder 1 wins!");
+                break;
+            case BIDDER_2_WINS:
+                out.println("Bidder 2 wins!");
+                break;
+            case TIE:
+                out.println("Tie!");
+                break;
+        }
+    }
+}
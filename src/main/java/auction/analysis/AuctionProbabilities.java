@@ -0,0 +1,46 @@
+package auction.analysis;
+
+import auction.AuctionResult;
+
+/**
+ * The probabilities of the results of an auction, computed by the {@link ExactEvaluator}.
+ */
+public class AuctionProbabilities {
+    // probabilities[result.ordinal()] = probability of the result
+    private final double[] probabilities;
+    private final int maxStates;
+
+    AuctionProbabilities(double[] probabilities, int maxStates) {
+        this.probabilities = probabilities;
+        this.maxStates = maxStates;
+    }
+
+    /**
+     * @return the probabilities from the perspective of the other bidder
+     */
+    AuctionProbabilities swapBidders() {
+        double[] swapped = probabilities.clone();
+        swapped[AuctionResult.BIDDER_1_WINS.ordinal()] = probabilities[AuctionResult.BIDDER_2_WINS.ordinal()];
+        swapped[AuctionResult.BIDDER_2_WINS.ordinal()] = probabilities[AuctionResult.BIDDER_1_WINS.ordinal()];
+        return new AuctionProbabilities(swapped, maxStates);
+    }
+
+    public double getProbability(AuctionResult result) {
+        return probabilities[result.ordinal()];
+    }
+
+    /**
+     * The expected score of bidder 1, like {@link auction.arena.ArenaResults#getScore}:
+     * a win counts 1, a tie 0.5 and a loss 0.
+     */
+    public double getScore() {
+        return getProbability(AuctionResult.BIDDER_1_WINS) + 0.5 * getProbability(AuctionResult.TIE);
+    }
+
+    /**
+     * @return the largest number of states the evaluator kept in one round
+     */
+    public int getMaxStates() {
+        return maxStates;
+    }
+}
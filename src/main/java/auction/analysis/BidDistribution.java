@@ -0,0 +1,83 @@
+package auction.analysis;
+
+import java.util.Arrays;
+
+/**
+ * A sparse distribution over the bids of one bidder in one state.
+ * Bids with probability 0 are not stored.
+ */
+public class BidDistribution {
+    private int[] bids = new int[16];
+    private double[] probabilities = new double[16];
+    private int size = 0;
+
+    /**
+     * Adds a bid with the given probability.
+     * Each bid is added at most once.
+     */
+    public void add(int bid, double probability) {
+        assert bid >= 0 : "Bids must be non-negative";
+        if (probability <= 0.0) {
+            return;
+        }
+        if (size == bids.length) {
+            bids = Arrays.copyOf(bids, 2 * size);
+            probabilities = Arrays.copyOf(probabilities, 2 * size);
+        }
+        bids[size] = bid;
+        probabilities[size] = probability;
+        size++;
+    }
+
+    /**
+     * Adds a bid that is placed with certainty.
+     */
+    public void addCertain(int bid) {
+        add(bid, 1.0);
+    }
+
+    /**
+     * Adds the bids of a bidder that draws x from a Gaussian with the given mean and standard deviation,
+     * truncates it to an int and clamps it to [0, max], like {@link auction.bidders.RandomBidder}.
+     * <p>
+     * Bid k in (0, max) is placed if k <= x < k + 1, bid 0 if x < 1 and bid max if x >= max.
+     * Bids more than {@link NormalTable#RANGE} standard deviations from the mean have a probability below the
+     * precision of a double and are not added.
+     */
+    public void addClampedGaussian(int mean, int standardDeviation, int max) {
+        assert standardDeviation >= 0 : "Standard deviation must be non-negative";
+        if (standardDeviation == 0 || max == 0) {
+            addCertain(Math.max(0, Math.min(mean, max)));
+            return;
+        }
+        double[] cdf = NormalTable.get(standardDeviation);
+        int first = Math.max(0, mean - NormalTable.RANGE * standardDeviation);
+        int last = Math.min(max, mean + NormalTable.RANGE * standardDeviation);
+        if (first > last) {
+            // All the mass is clamped to one end
+            addCertain(first > max ? max : 0);
+            return;
+        }
+        for (int k = first; k <= last; k++) {
+            double lower = k == first ? 0.0 : NormalTable.cdf(cdf, standardDeviation, k - mean);
+            double upper = k == last ? 1.0 : NormalTable.cdf(cdf, standardDeviation, k + 1 - mean);
+            add(k, upper - lower);
+        }
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getBid(int index) {
+        return bids[index];
+    }
+
+    public double getProbability(int index) {
+        return probabilities[index];
+    }
+}
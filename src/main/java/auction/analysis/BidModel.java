@@ -0,0 +1,34 @@
+package auction.analysis;
+
+/**
+ * The bid distribution of a bidder as a function of the state of the auction, for the {@link ExactEvaluator}.
+ * <p>
+ * A model describes a bidder whose bid depends only on the quantities and cash of both bidders and,
+ * if {@link #usesLastOtherBid()}, on the previous bid of the other bidder. See {@link BidModels} for the models
+ * of the bidders in {@link auction.bidders}.
+ */
+@FunctionalInterface
+public interface BidModel {
+    /**
+     * Adds the possible bids and their probabilities to the distribution, which is empty.
+     *
+     * @param quantity      the initial quantity of the auction
+     * @param cash          the initial cash of both bidders
+     * @param ownQuantity   the QU of this bidder
+     * @param ownCash       the MU of this bidder
+     * @param otherQuantity the QU of the other bidder
+     * @param otherCash     the MU of the other bidder
+     * @param lastOtherBid  the previous bid of the other bidder, or -1 in the first round
+     *                      or if this model does not use it
+     * @param bids          receives the bids, their probabilities must sum to 1
+     */
+    void addBids(int quantity, int cash, int ownQuantity, int ownCash, int otherQuantity, int otherCash,
+                 int lastOtherBid, BidDistribution bids);
+
+    /**
+     * @return whether the bid depends on the previous bid of the other bidder, which is then part of the state
+     */
+    default boolean usesLastOtherBid() {
+        return false;
+    }
+}
@@ -0,0 +1,109 @@
+package auction.analysis;
+
+import auction.Bidder;
+import auction.bidders.RandomBidder;
+import auction.bidders.RandomBidder2;
+import auction.bidders.SimpleBidder;
+import auction.bidders.SimpleHighBidder;
+import auction.bidders.TitForTatBidder;
+import auction.bidders.util.WinConditionStrategy;
+
+import static auction.bidders.util.Utils.isLastRound;
+
+/**
+ * The {@link BidModel}s of the bidders in {@link auction.bidders}, which mirror their placeBid methods.
+ */
+public class BidModels {
+    /**
+     * {@link SimpleBidder}: always [cash / quantity * 2].
+     */
+    public final static BidModel SIMPLE =
+            (quantity, cash, ownQuantity, ownCash, otherQuantity, otherCash, lastOtherBid, bids) ->
+                    bids.addCertain((cash / quantity) * 2);
+
+    /**
+     * {@link SimpleHighBidder}: [cash / quantity * 3], or all cash if that is less.
+     */
+    public final static BidModel SIMPLE_HIGH =
+            (quantity, cash, ownQuantity, ownCash, otherQuantity, otherCash, lastOtherBid, bids) ->
+                    bids.addCertain(Math.min((cash / quantity) * 3, ownCash));
+
+    /**
+     * {@link TitForTatBidder}: the previous bid of the other bidder + 1, or all cash if that is less.
+     */
+    public final static BidModel TIT_FOR_TAT = new BidModel() {
+        @Override
+        public void addBids(int quantity, int cash, int ownQuantity, int ownCash, int otherQuantity, int otherCash,
+                            int lastOtherBid, BidDistribution bids) {
+            bids.addCertain(Math.min(lastOtherBid + 1, ownCash));
+        }
+
+        @Override
+        public boolean usesLastOtherBid() {
+            return true;
+        }
+    };
+
+    /**
+     * {@link RandomBidder}: a Gaussian around [cash / quantity * 2] with half of that as standard deviation,
+     * clamped to [0, ownCash].
+     */
+    public final static BidModel RANDOM =
+            (quantity, cash, ownQuantity, ownCash, otherQuantity, otherCash, lastOtherBid, bids) -> {
+        int averageBid = (cash / quantity) * 2;
+        bids.addClampedGaussian(averageBid, averageBid / 2, ownCash);
+    };
+
+    /**
+     * {@link RandomBidder2}: the win condition strategy if a win condition is met, all cash in the last round,
+     * and otherwise a Gaussian around the cash per remaining round, clamped to [0, ownCash].
+     */
+    public final static BidModel RANDOM_2 =
+            (quantity, cash, ownQuantity, ownCash, otherQuantity, otherCash, lastOtherBid, bids) -> {
+        if (WinConditionStrategy.isWinConditionMet(quantity, ownQuantity, ownCash, otherQuantity, otherCash)) {
+            bids.addCertain(WinConditionStrategy.getNextBid(quantity, ownQuantity, ownCash, otherQuantity, otherCash));
+        } else if (isLastRound(quantity, ownQuantity, otherQuantity)) {
+            bids.addCertain(ownCash);
+        } else {
+            int averageBid = (ownCash / (quantity - ownQuantity - otherQuantity)) * 2;
+            bids.addClampedGaussian(averageBid, averageBid / 3, ownCash);
+        }
+    };
+
+    /**
+     * @return the model of the given bidder
+     * @throws IllegalArgumentException if there is no model of the bidder, for example because it learns from the
+     *                                  whole history of the auction
+     */
+    public static BidModel forBidder(Bidder bidder) {
+        BidModel model = find(bidder);
+        if (model == null) {
+            throw new IllegalArgumentException("No bid model for " + bidder.getClass().getSimpleName());
+        }
+        return model;
+    }
+
+    /**
+     * @return whether there is a model of the given bidder, see {@link #forBidder(Bidder)}
+     */
+    public static boolean hasModel(Bidder bidder) {
+        return find(bidder) != null;
+    }
+
+    private static BidModel find(Bidder bidder) {
+        // Exact classes, subclasses may bid differently
+        Class<?> type = bidder.getClass();
+        if (type == SimpleBidder.class) {
+            return SIMPLE;
+        } else if (type == SimpleHighBidder.class) {
+            return SIMPLE_HIGH;
+        } else if (type == TitForTatBidder.class) {
+            return TIT_FOR_TAT;
+        } else if (type == RandomBidder.class) {
+            return RANDOM;
+        } else if (type == RandomBidder2.class) {
+            return RANDOM_2;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,202 @@
+package auction.analysis;
+
+import auction.AuctionResult;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Computes the exact probabilities of the results of an auction between two bidders, given their {@link BidModel}s.
+ * <p>
+ * Instead of simulating auctions, this propagates the probability distribution over the states of the auction
+ * round by round. A state is the QU and MU of both bidders and, for models that
+ * {@link BidModel#usesLastOtherBid() use it}, the previous bid of the other bidder.
+ * In each round, every state moves to the states after every pair of bids, with the product of the probabilities.
+ * After the last round, each state has a result, see {@link AuctionResult#fromState}.
+ * <p>
+ * Only reachable states are stored, in rows over the cash of bidder 1, see {@link StateDistribution}.
+ * A row is identified by the QU of bidder 1, the MU of bidder 2, the previous bid of bidder 2 and the MU of bidder 1
+ * before its previous bid, so the previous bid of bidder 1 follows from its cash.
+ * The rows of a round are split into partitions that are propagated in parallel, and the partial distributions
+ * of the next round are merged.
+ * <p>
+ * A stochastic bidder against a deterministic one needs few states. Two stochastic bidders need up to
+ * [quantity * cash^2] states per round, each with the product of both bid supports as successors, which is much slower.
+ * The probabilities are exact up to rounding and the precision of the normal CDF, about 1e-15.
+ */
+public class ExactEvaluator {
+    // How many partitions each worker thread gets, so uneven partitions still balance
+    private final static int PARTITIONS_PER_THREAD = 4;
+
+    private final BidModel model1;
+    private final BidModel model2;
+    private final int quantity;
+    private final int cash;
+    // Whether the previous bids are part of the state, because the other model uses them
+    private final boolean keepBid1;
+    private final boolean keepBid2;
+    // Radix of the cash and bid fields of a row key
+    private final long cashRadix;
+    private final long bidRadix;
+
+    /**
+     * @param model1   the model of bidder 1
+     * @param model2   the model of bidder 2
+     * @param quantity the quantity of the auction, must be positive and even
+     * @param cash     the initial cash of both bidders, must be positive
+     */
+    public ExactEvaluator(BidModel model1, BidModel model2, int quantity, int cash) {
+        if (quantity <= 0 || quantity % 2 != 0) {
+            throw new IllegalArgumentException("Quantity must be positive and even");
+        }
+        if (cash <= 0) {
+            throw new IllegalArgumentException("Cash must be positive");
+        }
+        this.model1 = model1;
+        this.model2 = model2;
+        this.quantity = quantity;
+        this.cash = cash;
+        this.keepBid1 = model2.usesLastOtherBid();
+        this.keepBid2 = model1.usesLastOtherBid();
+        this.cashRadix = cash + 1;
+        // Bids are in [-1, cash], -1 before the first round
+        this.bidRadix = cash + 2;
+        try {
+            Math.multiplyExact(Math.multiplyExact(quantity + 1L, cashRadix * cashRadix), bidRadix);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Too much cash to pack a row key into a long", e);
+        }
+    }
+
+    /**
+     * Computes the probabilities of the results.
+     */
+    public AuctionProbabilities evaluate() {
+        if (keepBid2 && !keepBid1) {
+            // Rows are dense in the cash of bidder 1, but a row key with the previous bid of bidder 2 would make each
+            // row hold a single state. With swapped seats, the kept bid is folded into the cash before it.
+            return new ExactEvaluator(model2, model1, quantity, cash).evaluate().swapBidders();
+        }
+        StateDistribution states = new StateDistribution(cash + 1);
+        // Before the first round, the previous bid of bidder 1 is -1, so its cash before that bid is cash - 1
+        states.getRow(getRowKey(0, cash, -1, keepBid1 ? cash - 1 : 0))[cash] = 1.0;
+        int maxStates = 1;
+        for (int round = 0; round < quantity / 2; round++) {
+            states = propagate(states, round);
+            maxStates = Math.max(maxStates, states.getStateCount());
+        }
+
+        double[] probabilities = new double[AuctionResult.values().length];
+        for (int index = 0; index < states.getRowCount(); index++) {
+            long key = states.getRowKey(index);
+            double[] row = states.getRowAt(index);
+            int quantity1 = getQuantity1(key);
+            for (int cash1 = 0; cash1 <= cash; cash1++) {
+                if (row[cash1] != 0.0) {
+                    AuctionResult result = AuctionResult.fromState(quantity1, cash1,
+                            quantity - quantity1, getCash2(key));
+                    probabilities[result.ordinal()] += row[cash1];
+                }
+            }
+        }
+        return new AuctionProbabilities(probabilities, maxStates);
+    }
+
+    /**
+     * Computes the distribution after the given round from the distribution before it.
+     */
+    private StateDistribution propagate(StateDistribution states, int round) {
+        int rows = states.getRowCount();
+        int partitions = Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism() * PARTITIONS_PER_THREAD, rows));
+        return IntStream.range(0, partitions).parallel()
+                .mapToObj(partition -> propagate(states, rows * partition / partitions,
+                        rows * (partition + 1) / partitions, round))
+                .reduce((a, b) -> {
+                    // Merge the smaller distribution into the larger one
+                    if (a.getRowCount() < b.getRowCount()) {
+                        b.addAll(a);
+                        return b;
+                    }
+                    a.addAll(b);
+                    return a;
+                })
+                .orElseGet(() -> new StateDistribution(cash + 1));
+    }
+
+    /**
+     * Propagates the states in the rows [from, to) through the given round.
+     */
+    private StateDistribution propagate(StateDistribution states, int from, int to, int round) {
+        StateDistribution next = new StateDistribution(cash + 1);
+        BidDistribution bids1 = new BidDistribution();
+        BidDistribution bids2 = new BidDistribution();
+        // The target rows of the current state and bid of bidder 2, by the QU bidder 1 wins: 0, 1 or 2
+        double[][] targets = new double[3][];
+        for (int index = from; index < to; index++) {
+            long key = states.getRowKey(index);
+            double[] row = states.getRowAt(index);
+            int quantity1 = getQuantity1(key);
+            int quantity2 = 2 * round - quantity1;
+            int cash2 = getCash2(key);
+            int lastBid2 = getLastBid2(key);
+            int cashBeforeBid1 = getCashBeforeBid1(key);
+
+            for (int cash1 = 0; cash1 <= cash; cash1++) {
+                double probability = row[cash1];
+                if (probability == 0.0) {
+                    continue;
+                }
+                int lastBid1 = keepBid1 ? cashBeforeBid1 - cash1 : -1;
+                bids1.clear();
+                bids2.clear();
+                model1.addBids(quantity, cash, quantity1, cash1, quantity2, cash2, lastBid2, bids1);
+                model2.addBids(quantity, cash, quantity2, cash2, quantity1, cash1, lastBid1, bids2);
+
+                for (int b = 0; b < bids2.size(); b++) {
+                    int bid2 = bids2.getBid(b);
+                    assert bid2 <= cash2 : "Bidder cannot overdraw their cash";
+                    double probability2 = probability * bids2.getProbability(b);
+                    targets[0] = null;
+                    targets[1] = null;
+                    targets[2] = null;
+                    for (int a = 0; a < bids1.size(); a++) {
+                        int bid1 = bids1.getBid(a);
+                        assert bid1 <= cash1 : "Bidder cannot overdraw their cash";
+                        int won = bid1 > bid2 ? 2 : bid1 == bid2 ? 1 : 0;
+                        double[] target = targets[won];
+                        if (target == null) {
+                            target = next.getRow(getRowKey(quantity1 + won, cash2 - bid2,
+                                    keepBid2 ? bid2 : -1, keepBid1 ? cash1 : 0));
+                            targets[won] = target;
+                        }
+                        target[cash1 - bid1] += probability2 * bids1.getProbability(a);
+                    }
+                }
+            }
+        }
+        return next;
+    }
+
+    /**
+     * @param cashBeforeBid1 the MU of bidder 1 before its previous bid, or 0 if the previous bid is not kept
+     */
+    private long getRowKey(int quantity1, int cash2, int lastBid2, int cashBeforeBid1) {
+        return ((quantity1 * cashRadix + cash2) * bidRadix + lastBid2 + 1) * cashRadix + cashBeforeBid1;
+    }
+
+    private int getCashBeforeBid1(long key) {
+        return (int) (key % cashRadix);
+    }
+
+    private int getLastBid2(long key) {
+        return (int) (key / cashRadix % bidRadix) - 1;
+    }
+
+    private int getCash2(long key) {
+        return (int) (key / (cashRadix * bidRadix) % cashRadix);
+    }
+
+    private int getQuantity1(long key) {
+        return (int) (key / (cashRadix * bidRadix * cashRadix));
+    }
+}
@@ -0,0 +1,64 @@
+package auction.analysis;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The standard normal CDF at integer multiples of 1 / standardDeviation, cached per standard deviation.
+ * <p>
+ * Both random bidders use integer means and standard deviations, so their bids only need
+ * CDF(d / standardDeviation) for integer distances d, and one table serves every state.
+ */
+class NormalTable {
+    /**
+     * Beyond this many standard deviations, the CDF is 0 or 1 within the precision of a double.
+     */
+    final static int RANGE = 9;
+
+    private final static ConcurrentHashMap<Integer, double[]> TABLES = new ConcurrentHashMap<>();
+
+    /**
+     * @return the table of CDF(d / standardDeviation) for d in [-RANGE * standardDeviation, RANGE * standardDeviation]
+     */
+    static double[] get(int standardDeviation) {
+        return TABLES.computeIfAbsent(standardDeviation, sd -> {
+            double[] table = new double[2 * RANGE * sd + 1];
+            for (int d = -RANGE * sd; d <= RANGE * sd; d++) {
+                table[d + RANGE * sd] = cdf((double) d / sd);
+            }
+            return table;
+        });
+    }
+
+    /**
+     * @return CDF(distance / standardDeviation), looked up in the table of the standard deviation
+     */
+    static double cdf(double[] table, int standardDeviation, int distance) {
+        int offset = RANGE * standardDeviation;
+        if (distance <= -offset) {
+            return 0.0;
+        } else if (distance >= offset) {
+            return 1.0;
+        }
+        return table[distance + offset];
+    }
+
+    /**
+     * The standard normal CDF, with an absolute error of about 1e-15.
+     * Uses the Taylor series of Marsaglia, "Evaluating the Normal Distribution" (2004).
+     */
+    static double cdf(double x) {
+        double sum = x;
+        double previous = 0.0;
+        double term = x;
+        double square = x * x;
+        for (int i = 1; sum != previous; ) {
+            previous = sum;
+            i += 2;
+            term *= square / i;
+            sum = previous + term;
+        }
+        // 0.918... = ln(sqrt(2 * pi))
+        double value = 0.5 + sum * Math.exp(-0.5 * square - 0.91893853320467274178);
+        return Math.max(0.0, Math.min(1.0, value));
+    }
+}
@@ -0,0 +1,128 @@
+package auction.analysis;
+
+import java.util.Arrays;
+
+/**
+ * A sparse probability distribution over auction states, stored as dense rows over the cash of bidder 1.
+ * <p>
+ * Each row holds the states that agree in everything but the cash of bidder 1, identified by a non-negative
+ * row key, see {@link ExactEvaluator}. The successors of a state for one pair of bid classes all fall into one row,
+ * so propagating a state adds to consecutive entries of a few rows instead of hashing every successor.
+ * The rows are found with an open addressing hash map from row key to row index.
+ */
+class StateDistribution {
+    private final static long EMPTY = -1;
+    private final static int MIN_CAPACITY = 16;
+
+    private final int rowLength;
+    // Hash map from row key to row index
+    private long[] slotKeys;
+    private int[] slotRows;
+    private int mask;
+    // The rows in the order they were created
+    private long[] rowKeys = new long[MIN_CAPACITY];
+    private double[][] rows = new double[MIN_CAPACITY][];
+    private int rowCount = 0;
+
+    /**
+     * @param rowLength the length of a row, the initial cash + 1
+     */
+    StateDistribution(int rowLength) {
+        this.rowLength = rowLength;
+        allocate(MIN_CAPACITY);
+    }
+
+    /**
+     * @return the row with the given key, which is created with all probabilities 0 if it does not exist
+     */
+    double[] getRow(long key) {
+        assert key >= 0 : "Row keys must be non-negative";
+        int slot = hash(key) & mask;
+        while (slotKeys[slot] != EMPTY) {
+            if (slotKeys[slot] == key) {
+                return rows[slotRows[slot]];
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (rowCount == rows.length) {
+            rowKeys = Arrays.copyOf(rowKeys, 2 * rowCount);
+            rows = Arrays.copyOf(rows, 2 * rowCount);
+        }
+        double[] row = new double[rowLength];
+        rowKeys[rowCount] = key;
+        rows[rowCount] = row;
+        slotKeys[slot] = key;
+        slotRows[slot] = rowCount;
+        rowCount++;
+        if (2 * rowCount > mask + 1) {
+            rehash(2 * (mask + 1));
+        }
+        return row;
+    }
+
+    /**
+     * Adds all probabilities of another distribution with the same row length.
+     */
+    void addAll(StateDistribution other) {
+        for (int index = 0; index < other.rowCount; index++) {
+            double[] row = getRow(other.rowKeys[index]);
+            double[] otherRow = other.rows[index];
+            for (int cash = 0; cash < rowLength; cash++) {
+                row[cash] += otherRow[cash];
+            }
+        }
+    }
+
+    int getRowCount() {
+        return rowCount;
+    }
+
+    long getRowKey(int index) {
+        return rowKeys[index];
+    }
+
+    double[] getRowAt(int index) {
+        return rows[index];
+    }
+
+    /**
+     * @return how many states have a probability
+     */
+    int getStateCount() {
+        int count = 0;
+        for (int index = 0; index < rowCount; index++) {
+            for (double probability : rows[index]) {
+                if (probability != 0.0) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private void allocate(int capacity) {
+        slotKeys = new long[capacity];
+        slotRows = new int[capacity];
+        mask = capacity - 1;
+        Arrays.fill(slotKeys, EMPTY);
+    }
+
+    private void rehash(int capacity) {
+        allocate(capacity);
+        for (int index = 0; index < rowCount; index++) {
+            int slot = hash(rowKeys[index]) & mask;
+            while (slotKeys[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            slotKeys[slot] = rowKeys[index];
+            slotRows[slot] = index;
+        }
+    }
+
+    private static int hash(long key) {
+        // The finalizer of MurmurHash3, row keys differ in few bits and would cluster otherwise
+        long mixed = (key ^ (key >>> 33)) * 0xFF51AFD7ED558CCDL;
+        mixed = (mixed ^ (mixed >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return (int) (mixed ^ (mixed >>> 33));
+    }
+}
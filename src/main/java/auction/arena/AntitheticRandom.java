@@ -0,0 +1,56 @@
+package auction.arena;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Mirrors every draw of another random source: a Gaussian g becomes -g, a uniform u in [0, 1) becomes 1 - u,
+ * and the bits of integers are flipped.
+ * <p>
+ * An auction with a source and an auction with its mirror are negatively correlated, so their average varies less
+ * than the average of two independent auctions. Both Gaussian methods are overridden, because the default of
+ * {@link #nextGaussian(double, double)} does not call {@link #nextGaussian()}.
+ */
+class AntitheticRandom implements RandomGenerator {
+    // The largest double below 1, u = k * 2^-53 becomes exactly (2^53 - 1 - k) * 2^-53
+    private final static double ONE_MINUS_ULP = 1.0 - 0x1.0p-53;
+
+    private final RandomGenerator random;
+
+    AntitheticRandom(RandomGenerator random) {
+        this.random = random;
+    }
+
+    @Override
+    public long nextLong() {
+        return ~random.nextLong();
+    }
+
+    @Override
+    public int nextInt() {
+        return ~random.nextInt();
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        // The default maps nextInt() to the bound with a remainder, which would not mirror the draw
+        return bound - 1 - random.nextInt(bound);
+    }
+
+    @Override
+    public double nextDouble() {
+        return ONE_MINUS_ULP - random.nextDouble();
+    }
+
+    @Override
+    public double nextGaussian() {
+        return -random.nextGaussian();
+    }
+
+    @Override
+    public double nextGaussian(double mean, double stddev) {
+        if (stddev < 0.0) {
+            throw new IllegalArgumentException("Standard deviation must be non-negative");
+        }
+        return mean - stddev * random.nextGaussian();
+    }
+}
@@ -0,0 +1,170 @@
+package auction.arena;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Live progress of arena runs, which can be read while the arena is running, see {@link BidderArena#setProgress}.
+ * <p>
+ * The arena reports every unit of work when it is finished, so the counts grow by a chunk of auctions at a time.
+ * Reporting is a few atomic additions per unit, not per auction, so it does not slow the arena down.
+ * All getters can be called from any thread. Counts of several getters may be from slightly different moments.
+ * <p>
+ * Auctions of deterministic pairings are counted, not simulated, see {@link BidderArena},
+ * so they count as finished auctions here as well.
+ */
+public class ArenaProgress {
+    private final int bidderCount;
+    private final long startNanos = System.nanoTime();
+
+    private final AtomicLong plannedPairings = new AtomicLong();
+    private final AtomicLong plannedAuctions = new AtomicLong();
+    private final AtomicLong finishedPairings = new AtomicLong();
+    private final AtomicLong finishedAuctions = new AtomicLong();
+    // wins[i * bidderCount + j] = auctions bidder i won against bidder j so far, ties the same for ties
+    private final AtomicIntegerArray wins;
+    private final AtomicIntegerArray ties;
+    // Wall time and auctions of the units bidder i played in
+    private final AtomicLongArray bidderNanos;
+    private final AtomicLongArray bidderAuctions;
+    // metrics[i] = latency and allocations of bidder i, null if bidder i was not measured, guarded by this
+    private final BidderMetrics[] metrics;
+
+    public ArenaProgress(int bidderCount) {
+        this.bidderCount = bidderCount;
+        this.wins = new AtomicIntegerArray(bidderCount * bidderCount);
+        this.ties = new AtomicIntegerArray(bidderCount * bidderCount);
+        this.bidderNanos = new AtomicLongArray(bidderCount);
+        this.bidderAuctions = new AtomicLongArray(bidderCount);
+        this.metrics = new BidderMetrics[bidderCount];
+    }
+
+    /**
+     * Adds pairings and auctions that a run is going to play.
+     */
+    void plan(int pairings, long auctions) {
+        plannedPairings.addAndGet(pairings);
+        plannedAuctions.addAndGet(auctions);
+    }
+
+    /**
+     * Adds the outcome counts of a finished unit of auctions between bidder i and bidder j.
+     *
+     * @param nanos the wall time of the unit
+     */
+    void add(int i, int j, int iWins, int tieCount, int jWins, long nanos) {
+        addCounts(i, j, iWins, tieCount, jWins);
+        int auctions = iWins + tieCount + jWins;
+        finishedAuctions.addAndGet(auctions);
+        bidderNanos.addAndGet(i, nanos);
+        bidderNanos.addAndGet(j, nanos);
+        bidderAuctions.addAndGet(i, auctions);
+        bidderAuctions.addAndGet(j, auctions);
+    }
+
+    /**
+     * Adds the outcome counts of a pairing that was read from the result cache.
+     * The pairing counts as planned and finished, but its auctions were not played, so they are not counted.
+     */
+    void addCached(int i, int j, int iWins, int tieCount, int jWins) {
+        addCounts(i, j, iWins, tieCount, jWins);
+        plannedPairings.incrementAndGet();
+        finishedPairings.incrementAndGet();
+    }
+
+    /**
+     * Counts a pairing whose units are all finished.
+     */
+    void finishPairing() {
+        finishedPairings.incrementAndGet();
+    }
+
+    /**
+     * Adds measurements of bidder i.
+     */
+    synchronized void addMetrics(int i, BidderMetrics bidderMetrics) {
+        if (metrics[i] == null) {
+            metrics[i] = new BidderMetrics();
+        }
+        metrics[i].merge(bidderMetrics);
+    }
+
+    private void addCounts(int i, int j, int iWins, int tieCount, int jWins) {
+        wins.addAndGet(i * bidderCount + j, iWins);
+        wins.addAndGet(j * bidderCount + i, jWins);
+        ties.addAndGet(i * bidderCount + j, tieCount);
+    }
+
+    public int getBidderCount() {
+        return bidderCount;
+    }
+
+    /**
+     * @return the nanoseconds since this progress was created
+     */
+    public long getElapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    public long getPlannedPairings() {
+        return plannedPairings.get();
+    }
+
+    /**
+     * @return the auctions the runs are going to play, for adaptive runs the most they may play
+     */
+    public long getPlannedAuctions() {
+        return plannedAuctions.get();
+    }
+
+    public long getFinishedPairings() {
+        return finishedPairings.get();
+    }
+
+    public long getFinishedAuctions() {
+        return finishedAuctions.get();
+    }
+
+    /**
+     * @return the wall time of all units bidder i played in. Both bidders of a unit are charged the full time.
+     */
+    public long getBidderNanos(int i) {
+        return bidderNanos.get(i);
+    }
+
+    /**
+     * @return the auctions bidder i played in the finished units
+     */
+    public long getBidderAuctions(int i) {
+        return bidderAuctions.get(i);
+    }
+
+    /**
+     * @return a copy of the latency and allocations of bidder i so far, or null if the bidders are not measured
+     */
+    public synchronized BidderMetrics getMetrics(int i) {
+        if (metrics[i] == null) {
+            return null;
+        }
+        BidderMetrics copy = new BidderMetrics();
+        copy.merge(metrics[i]);
+        return copy;
+    }
+
+    /**
+     * @return the outcome counts of all finished units and cached pairings
+     */
+    public ArenaResults getPartialResults() {
+        ArenaResults results = new ArenaResults(bidderCount);
+        for (int i = 0; i < bidderCount; i++) {
+            for (int j = i + 1; j < bidderCount; j++) {
+                results.add(i, j,
+                        wins.get(i * bidderCount + j),
+                        ties.get(i * bidderCount + j) + ties.get(j * bidderCount + i),
+                        wins.get(j * bidderCount + i));
+            }
+        }
+        return results;
+    }
+}
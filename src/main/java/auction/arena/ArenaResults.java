@@ -0,0 +1,242 @@
+package auction.arena;
+
+import auction.AuctionResult;
+
+import java.util.Arrays;
+
+/**
+ * Outcome counts of an arena run.
+ * <p>
+ * For every ordered pair of bidders, this stores how many auctions bidder i won against bidder j and how many
+ * auctions between them ended in a tie. Results are only recorded from the perspective of the pairing (i, j),
+ * the counts for (j, i) are derived from the same numbers.
+ */
+public class ArenaResults {
+    private final int bidderCount;
+    // wins[i][j] = auctions bidder i won against bidder j
+    private final int[][] wins;
+    // ties[i][j] = ties[j][i] = auctions between bidder i and bidder j that ended in a tie
+    private final int[][] ties;
+    // metrics[i] = latency and allocations of bidder i, null if bidder i was not measured
+    private final BidderMetrics[] metrics;
+    // timeouts[i] = calls of bidder i that missed their deadline
+    private final int[] timeouts;
+    // standardErrors[i][j] = standardErrors[j][i] = measured standard error of the score, NaN if not measured
+    private final double[][] standardErrors;
+
+    public ArenaResults(int bidderCount) {
+        this.bidderCount = bidderCount;
+        this.wins = new int[bidderCount][bidderCount];
+        this.ties = new int[bidderCount][bidderCount];
+        this.metrics = new BidderMetrics[bidderCount];
+        this.timeouts = new int[bidderCount];
+        this.standardErrors = new double[bidderCount][bidderCount];
+        for (double[] row : standardErrors) {
+            Arrays.fill(row, Double.NaN);
+        }
+    }
+
+    /**
+     * Records the result of one auction, bidder i being bidder 1 and bidder j being bidder 2.
+     */
+    public void record(int i, int j, AuctionResult result) {
+        switch (result) {
+            case BIDDER_1_WINS -> wins[i][j]++;
+            case BIDDER_2_WINS -> wins[j][i]++;
+            case TIE -> {
+                ties[i][j]++;
+                ties[j][i]++;
+            }
+        }
+    }
+
+    /**
+     * Adds the outcome counts of several auctions between bidder i and bidder j.
+     *
+     * @param i        the first bidder
+     * @param j        the second bidder
+     * @param iWins    auctions won by bidder i
+     * @param tieCount auctions that ended in a tie
+     * @param jWins    auctions won by bidder j
+     */
+    public void add(int i, int j, int iWins, int tieCount, int jWins) {
+        wins[i][j] += iWins;
+        wins[j][i] += jWins;
+        ties[i][j] += tieCount;
+        ties[j][i] += tieCount;
+    }
+
+    /**
+     * Adds all counts of another result set to this one.
+     */
+    public void merge(ArenaResults other) {
+        assert other.bidderCount == bidderCount : "Cannot merge results of different arenas";
+        for (int i = 0; i < bidderCount; i++) {
+            for (int j = 0; j < bidderCount; j++) {
+                wins[i][j] += other.wins[i][j];
+                ties[i][j] += other.ties[i][j];
+                if (!Double.isNaN(other.standardErrors[i][j])) {
+                    // Only pairings that are disjoint are merged, so the standard error is taken over
+                    standardErrors[i][j] = other.standardErrors[i][j];
+                }
+            }
+            timeouts[i] += other.timeouts[i];
+            if (other.metrics[i] != null) {
+                addMetrics(i, other.metrics[i]);
+            }
+        }
+    }
+
+    /**
+     * Adds measurements of bidder i.
+     */
+    public void addMetrics(int i, BidderMetrics bidderMetrics) {
+        if (metrics[i] == null) {
+            metrics[i] = new BidderMetrics();
+        }
+        metrics[i].merge(bidderMetrics);
+    }
+
+    /**
+     * Adds calls of bidder i that missed their deadline.
+     */
+    public void addTimeouts(int i, int count) {
+        timeouts[i] += count;
+    }
+
+    /**
+     * @return how many calls of bidder i missed their deadline, 0 if the arena ran without deadlines
+     */
+    public int getTimeouts(int i) {
+        return timeouts[i];
+    }
+
+    /**
+     * @return the latency and allocations of bidder i, or null if the bidders were not measured
+     */
+    public BidderMetrics getMetrics(int i) {
+        return metrics[i];
+    }
+
+    public int getBidderCount() {
+        return bidderCount;
+    }
+
+    public int getWins(int i, int j) {
+        return wins[i][j];
+    }
+
+    public int getTies(int i, int j) {
+        return ties[i][j];
+    }
+
+    /**
+     * @return how many auctions were played between bidder i and bidder j.
+     */
+    public int getAuctions(int i, int j) {
+        return wins[i][j] + wins[j][i] + ties[i][j];
+    }
+
+    /**
+     * Points of bidder i against bidder j. A win is worth 2 points, a tie 1 point.
+     */
+    public int getPoints(int i, int j) {
+        return 2 * wins[i][j] + ties[i][j];
+    }
+
+    /**
+     * @return the points matrix, results[i][j] = points for bidder i against bidder j
+     */
+    public int[][] getPoints() {
+        int[][] points = new int[bidderCount][bidderCount];
+        for (int i = 0; i < bidderCount; i++) {
+            for (int j = 0; j < bidderCount; j++) {
+                points[i][j] = getPoints(i, j);
+            }
+        }
+        return points;
+    }
+
+    /**
+     * The score of bidder i against bidder j, between 0 and 1.
+     * A win counts 1, a tie 0.5, a loss 0. This is the points divided by the maximum points.
+     *
+     * @return the score, or 0 if no auctions were played
+     */
+    public double getScore(int i, int j) {
+        int auctions = getAuctions(i, j);
+        return auctions == 0 ? 0.0 : getPoints(i, j) / (2.0 * auctions);
+    }
+
+    /**
+     * Sets the standard error of the score of bidder i against bidder j, which was measured by the arena.
+     * The standard error of the score of bidder j against bidder i is the same.
+     */
+    public void setStandardError(int i, int j, double standardError) {
+        standardErrors[i][j] = standardError;
+        standardErrors[j][i] = standardError;
+    }
+
+    /**
+     * The standard error of {@link #getScore}, if the arena measured it, for example with variance reduction.
+     * Otherwise, this is the standard error of independent auctions, estimated from the outcome counts.
+     */
+    public double getStandardError(int i, int j) {
+        if (!Double.isNaN(standardErrors[i][j])) {
+            return standardErrors[i][j];
+        }
+        return getIndependentStandardError(i, j);
+    }
+
+    /**
+     * The standard error of {@link #getScore} if the auctions are independent, estimated from the outcome counts.
+     *
+     * @return the standard error, or infinity with fewer than 2 auctions
+     */
+    public double getIndependentStandardError(int i, int j) {
+        int auctions = getAuctions(i, j);
+        if (auctions < 2) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return Math.sqrt(getVariance(wins[i][j], ties[i][j], wins[j][i]) * auctions / (auctions - 1) / auctions);
+    }
+
+    /**
+     * Half the width of the 95% Wilson score interval of {@link #getScore}.
+     * The outcome counts are sufficient statistics, so this needs no per-auction data.
+     *
+     * @return the half-width, or infinity with fewer than 2 auctions
+     */
+    public double getConfidenceHalfWidth(int i, int j) {
+        return getConfidenceHalfWidth(wins[i][j], ties[i][j], wins[j][i]);
+    }
+
+    /**
+     * Half the width of the 95% Wilson score interval of the score of a bidder with the given outcome counts.
+     * <p>
+     * Unlike the normal approximation, the interval does not shrink to nothing when every auction has the same
+     * outcome, e.g. after 250 wins in 250 auctions, so it does not claim certainty from a one-sided sample.
+     * Ties count 0.5 and make the scores vary less than wins and losses, so the variance of the scores is used
+     * in place of p * (1 - p). Without ties, this is the Wilson interval.
+     */
+    public static double getConfidenceHalfWidth(int wins, int ties, int losses) {
+        int auctions = wins + ties + losses;
+        if (auctions < 2) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double z = 1.96;
+        double variance = getVariance(wins, ties, losses);
+        return z / (1 + z * z / auctions) * Math.sqrt(variance / auctions + z * z / (4.0 * auctions * auctions));
+    }
+
+    /**
+     * @return the variance of the scores of the auctions with the given outcome counts, with n in the denominator
+     */
+    private static double getVariance(int wins, int ties, int losses) {
+        int auctions = wins + ties + losses;
+        double mean = (wins + 0.5 * ties) / auctions;
+        // Mean of the squared scores: wins count 1, ties 0.25
+        double meanOfSquares = (wins + 0.25 * ties) / auctions;
+        return Math.max(meanOfSquares - mean * mean, 0.0);
+    }
+}
@@ -0,0 +1,209 @@
+package auction.arena;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Distributes the units of a {@link BidderArena} run to worker processes through a local directory.
+ * <p>
+ * The directory contains:
+ * <ul>
+ *     <li>{@code arena.txt}: the description of the arena, every worker checks that it runs the same arena</li>
+ *     <li>{@code pending/<unit>}: units that still have to run</li>
+ *     <li>{@code claimed/<unit>}: units a worker is running, the file contains the id of the worker</li>
+ *     <li>{@code results/<unit>}: the results of finished units, "i j iWins ties jWins"</li>
+ * </ul>
+ * A worker claims a unit by moving it from pending to claimed. The move is atomic, so only one worker gets a unit.
+ * Results are written to a temporary file and then moved into place, so a result file is always complete.
+ * If a worker crashes, its claimed units stay claimed, {@link #requeueStale} moves them back to pending.
+ * All other units are kept, so a crash only loses the units that were running.
+ */
+public class ArenaWorkQueue {
+    private final Path directory;
+    private final BidderArena arena;
+
+    /**
+     * @param directory the work directory, shared by the coordinator and all workers
+     * @param arena     the arena, which must be the same in all processes
+     */
+    public ArenaWorkQueue(Path directory, BidderArena arena) {
+        this.directory = directory;
+        this.arena = arena;
+    }
+
+    /**
+     * Creates the work directory with all units pending. Run this once, before starting the workers.
+     *
+     * @throws FileAlreadyExistsException if the directory already contains a queue
+     */
+    public void create() throws IOException {
+        Files.createDirectories(directory);
+        Files.writeString(directory.resolve("arena.txt"), arena.describe(), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        Files.createDirectories(getPending());
+        Files.createDirectories(getClaimed());
+        Files.createDirectories(getResults());
+        for (int unit = 0; unit < arena.getUnitCount(); unit++) {
+            Files.createFile(getPending().resolve(String.valueOf(unit)));
+        }
+    }
+
+    /**
+     * Claims and runs pending units until there are no more.
+     *
+     * @param workerId the id of this worker, written to its claims
+     * @return the number of units this worker ran
+     */
+    public int work(String workerId) throws IOException {
+        checkArena();
+        int finished = 0;
+        while (true) {
+            int unit = claim(workerId);
+            if (unit < 0) {
+                return finished;
+            }
+            int[] result = arena.runUnit(unit);
+            Path temporary = getResults().resolve(unit + "." + workerId + ".tmp");
+            Files.writeString(temporary, String.format("%d %d %d %d %d%n", result[0], result[1], result[2], result[3], result[4]));
+            move(temporary, getResults().resolve(String.valueOf(unit)));
+            Files.deleteIfExists(getClaimed().resolve(String.valueOf(unit)));
+            finished++;
+        }
+    }
+
+    /**
+     * Claims any pending unit.
+     *
+     * @return the unit, or -1 if no units are pending
+     */
+    private int claim(String workerId) throws IOException {
+        try (DirectoryStream<Path> pending = Files.newDirectoryStream(getPending())) {
+            for (Path file : pending) {
+                Path claim = getClaimed().resolve(file.getFileName());
+                try {
+                    // Marks the time of the claim before the move, which keeps it, so requeueStale never sees
+                    // a claimed unit with the time the coordinator created it
+                    Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+                    move(file, claim);
+                } catch (NoSuchFileException e) {
+                    // Another worker was faster
+                    continue;
+                }
+                Files.writeString(claim, workerId);
+                return Integer.parseInt(file.getFileName().toString());
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Moves claimed units without a result back to pending, if they were claimed longer ago than the given age.
+     * Use this to recover from crashed workers. Units of workers that are still running may run twice,
+     * which gives the same result.
+     *
+     * @return the number of units moved back
+     */
+    public int requeueStale(Duration age) throws IOException {
+        FileTime limit = FileTime.from(Instant.now().minus(age));
+        int requeued = 0;
+        try (DirectoryStream<Path> claimed = Files.newDirectoryStream(getClaimed())) {
+            for (Path file : claimed) {
+                try {
+                    if (Files.getLastModifiedTime(file).compareTo(limit) > 0) {
+                        continue;
+                    }
+                    if (Files.exists(getResults().resolve(file.getFileName()))) {
+                        Files.deleteIfExists(file);
+                    } else {
+                        move(file, getPending().resolve(file.getFileName()));
+                        requeued++;
+                    }
+                } catch (NoSuchFileException e) {
+                    // Finished in the meantime
+                }
+            }
+        }
+        return requeued;
+    }
+
+    /**
+     * @return the number of units that have a result
+     */
+    public int getFinishedCount() throws IOException {
+        int finished = 0;
+        for (int unit = 0; unit < arena.getUnitCount(); unit++) {
+            if (Files.exists(getResults().resolve(String.valueOf(unit)))) {
+                finished++;
+            }
+        }
+        return finished;
+    }
+
+    /**
+     * Merges the results of all units.
+     *
+     * @throws IllegalStateException if some units have no result yet
+     */
+    public ArenaResults merge() throws IOException {
+        checkArena();
+        int[][] unitResults = new int[arena.getUnitCount()][];
+        int missing = 0;
+        for (int unit = 0; unit < unitResults.length; unit++) {
+            Path file = getResults().resolve(String.valueOf(unit));
+            if (!Files.exists(file)) {
+                missing++;
+                continue;
+            }
+            String[] fields = Files.readString(file).trim().split(" ");
+            unitResults[unit] = new int[fields.length];
+            for (int k = 0; k < fields.length; k++) {
+                unitResults[unit][k] = Integer.parseInt(fields[k]);
+            }
+        }
+        if (missing > 0) {
+            throw new IllegalStateException(missing + " of " + unitResults.length + " units have no result yet");
+        }
+        return arena.merge(unitResults);
+    }
+
+    /**
+     * Checks that the queue was created for the same arena.
+     */
+    private void checkArena() throws IOException {
+        String description = Files.readString(directory.resolve("arena.txt"), StandardCharsets.UTF_8);
+        if (!description.equals(arena.describe())) {
+            throw new IllegalStateException("The work directory " + directory + " belongs to another arena:\n" + description);
+        }
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            throw new IOException("The work directory must support atomic moves", e);
+        }
+    }
+
+    private Path getPending() {
+        return directory.resolve("pending");
+    }
+
+    private Path getClaimed() {
+        return directory.resolve("claimed");
+    }
+
+    private Path getResults() {
+        return directory.resolve("results");
+    }
+}
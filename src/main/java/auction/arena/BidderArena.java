@@ -0,0 +1,703 @@
+package auction.arena;
+
+import auction.Auction;
+import auction.AuctionListener;
+import auction.AuctionResult;
+import auction.Bidder;
+import auction.batch.BatchAuction;
+import auction.batch.BatchBidders;
+import auction.transcript.TranscriptListener;
+import auction.transcript.TranscriptWriter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Supplier;
+
+/**
+ * Runs a series of auctions between different bidders to compare their performance.
+ * Each bidder is paired with every other bidder, and every pairing is repeated a number of times.
+ * <p>
+ * Bidders are stateful, so the arena takes factories instead of shared instances.
+ * The work is split into units of one pairing and a chunk of repeats. Every unit creates its own bidders,
+ * so units can run in parallel on a {@link ForkJoinPool} without sharing any state.
+ * Each unit writes its outcome counts into its own slot, which are merged into one {@link ArenaResults} at the end.
+ * <p>
+ * Every unit gets its own random sources, derived from the master seed, the pairing and the chunk.
+ * So a run with a given seed gives the same results, no matter how the units are scheduled.
+ * <p>
+ * If both bidders of a pairing are {@link Bidder#isDeterministic() deterministic}, each unit simulates one auction
+ * and counts its result for all auctions of the unit.
+ * <p>
+ * Runs report every finished unit to the {@link #setProgress progress}, if there is one, so long runs can be watched.
+ */
+public class BidderArena {
+    /**
+     * How many auctions of one pairing are run by a single unit of work.
+     */
+    public final static int DEFAULT_CHUNK_SIZE = 250;
+    /**
+     * How many chunks a pairing with a random bidder plays at least in {@link #runAdaptive(double)}.
+     */
+    public final static int MIN_ADAPTIVE_CHUNKS = 4;
+
+    private final List<Supplier<Bidder>> bidders;
+    private final int quantity;
+    private final int cash;
+    private final int repeats;
+    private final int chunkSize;
+    private final long seed;
+    // Receives every finished unit, or null
+    private ArenaProgress progress = null;
+
+    /**
+     * Creates a new arena with a random master seed.
+     *
+     * @param bidders  factories for the bidders to compare
+     * @param quantity the quantity auctioned in each auction
+     * @param cash     the cash each bidder starts with in each auction
+     * @param repeats  how many auctions are run for each pairing
+     */
+    public BidderArena(List<Supplier<Bidder>> bidders, int quantity, int cash, int repeats) {
+        this(bidders, quantity, cash, repeats, new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Creates a new arena.
+     *
+     * @param bidders  factories for the bidders to compare
+     * @param quantity the quantity auctioned in each auction
+     * @param cash     the cash each bidder starts with in each auction
+     * @param repeats  how many auctions are run for each pairing
+     * @param seed     the master seed, the same seed gives the same results
+     */
+    public BidderArena(List<Supplier<Bidder>> bidders, int quantity, int cash, int repeats, long seed) {
+        this(bidders, quantity, cash, repeats, DEFAULT_CHUNK_SIZE, seed);
+    }
+
+    /**
+     * Creates a new arena.
+     *
+     * @param bidders   factories for the bidders to compare
+     * @param quantity  the quantity auctioned in each auction
+     * @param cash      the cash each bidder starts with in each auction
+     * @param repeats   how many auctions are run for each pairing
+     * @param chunkSize how many auctions of one pairing are run by a single unit of work
+     * @param seed      the master seed, the same seed and chunk size give the same results
+     */
+    public BidderArena(List<Supplier<Bidder>> bidders, int quantity, int cash, int repeats, int chunkSize, long seed) {
+        this.bidders = List.copyOf(bidders);
+        this.quantity = quantity;
+        this.cash = cash;
+        this.repeats = repeats;
+        this.chunkSize = chunkSize;
+        this.seed = seed;
+
+        assert repeats >= 0 : "Repeats must not be negative";
+        assert chunkSize > 0 : "Chunk size must be greater than zero";
+    }
+
+    /**
+     * Sets the progress that all following runs report their finished units to, see {@link ArenaProgress}.
+     * Runs with the result cache report the cached pairings as well. {@link #runSerial()} and {@link #runUnit(int)}
+     * report nothing.
+     *
+     * @param progress the progress, or null to report nothing
+     */
+    public void setProgress(ArenaProgress progress) {
+        assert progress == null || progress.getBidderCount() == bidders.size() : "Progress must have one entry per bidder";
+        this.progress = progress;
+    }
+
+    /**
+     * Runs the arena on the common fork-join pool.
+     */
+    public ArenaResults run() {
+        return run(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Runs the arena on the given pool.
+     */
+    public ArenaResults run(ForkJoinPool pool) {
+        return run(pool, getAllPairs(), null, false);
+    }
+
+    /**
+     * Runs the arena on the common fork-join pool and measures the latency and allocations of every bidder,
+     * see {@link ArenaResults#getMetrics(int)}. The results are the same as the results of {@link #run()}.
+     * <p>
+     * Every bidder call is timed, so this is slower than {@link #run()}, which does not measure anything.
+     */
+    public ArenaResults runMeasured() {
+        return run(ForkJoinPool.commonPool(), getAllPairs(), null, true);
+    }
+
+    /**
+     * Runs the arena on the common fork-join pool and records every auction to the transcript.
+     * The bidders are identified by their index, the auctions by their index within the pairing.
+     * The results are the same as the results of {@link #run()}.
+     */
+    public ArenaResults run(TranscriptWriter transcript) {
+        return run(ForkJoinPool.commonPool(), getAllPairs(), transcript, false);
+    }
+
+    /**
+     * Runs the given pairings on the given pool.
+     *
+     * @param pairs      the pairings, each an array {i, j}
+     * @param transcript the transcript to record the auctions to, or null
+     * @param measure    whether to measure the latency and allocations of the bidders
+     */
+    private ArenaResults run(ForkJoinPool pool, List<int[]> pairs, TranscriptWriter transcript, boolean measure) {
+        int chunksPerPairing = getChunksPerPairing();
+        int[][] unitResults = new int[pairs.size() * chunksPerPairing][];
+        BidderMetrics[][] unitMetrics = measure ? new BidderMetrics[unitResults.length][] : null;
+        AtomicIntegerArray remainingUnits = planProgress(pairs.size(), chunksPerPairing, (long) pairs.size() * repeats);
+        pool.invoke(new IndexRange(0, unitResults.length, unit -> {
+            long start = System.nanoTime();
+            BidderMetrics[] metrics = null;
+            if (measure) {
+                metrics = new BidderMetrics[]{new BidderMetrics(), new BidderMetrics()};
+                unitMetrics[unit] = metrics;
+            }
+            unitResults[unit] = runUnit(pairs, unit, transcript, metrics);
+            reportUnit(remainingUnits, unit / chunksPerPairing, unitResults[unit], System.nanoTime() - start, metrics);
+        }));
+        ArenaResults results = merge(unitResults);
+        if (measure) {
+            for (int unit = 0; unit < unitResults.length; unit++) {
+                results.addMetrics(unitResults[unit][0], unitMetrics[unit][0]);
+                results.addMetrics(unitResults[unit][1], unitMetrics[unit][1]);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Runs the arena on the common fork-join pool with a time budget for every bidder call.
+     * <p>
+     * Every bidder runs on its own thread. A bidder whose call takes longer than the budget forfeits the rest
+     * of the auction, bidding 0, and is replaced by a fresh instance for the next auction.
+     * So an auction takes at most about one budget per bidder longer than normal, no matter how slow a bidder is.
+     * The timeouts of each bidder are counted, see {@link ArenaResults#getTimeouts(int)}.
+     * <p>
+     * Without timeouts, the results are the same as the results of {@link #run()}. Handing the calls to other threads
+     * is much slower than calling the bidders directly, so only use this for bidders that cannot be trusted.
+     *
+     * @param budget the time every call of a bidder may take
+     */
+    public ArenaResults runWithDeadline(Duration budget) {
+        List<int[]> pairs = getAllPairs();
+        int chunksPerPairing = getChunksPerPairing();
+        int[][] unitResults = new int[pairs.size() * chunksPerPairing][];
+        AtomicIntegerArray remainingUnits = planProgress(pairs.size(), chunksPerPairing, (long) pairs.size() * repeats);
+        ForkJoinPool.commonPool().invoke(new IndexRange(0, unitResults.length, unit -> {
+            long start = System.nanoTime();
+            int[] pair = pairs.get(unit / chunksPerPairing);
+            unitResults[unit] = runDeadlineChunk(pair[0], pair[1], unit % chunksPerPairing, budget.toNanos());
+            reportUnit(remainingUnits, unit / chunksPerPairing, unitResults[unit], System.nanoTime() - start, null);
+        }));
+        ArenaResults results = merge(unitResults);
+        for (int[] unitResult : unitResults) {
+            results.addTimeouts(unitResult[0], unitResult[5]);
+            results.addTimeouts(unitResult[1], unitResult[6]);
+        }
+        return results;
+    }
+
+    /**
+     * Runs the arena on the common fork-join pool with the batch engine, see {@link BatchAuction}.
+     * <p>
+     * Each unit runs the auctions of its chunk as one batch in lockstep, so large chunk sizes make the batches
+     * more efficient. Bidders with a batch version bid in the whole batch at once, all other bidders run with one
+     * instance per auction, see {@link BatchBidders#forBidder}.
+     * Deterministic pairings give the same results as {@link #run()}. Random bidders draw from other streams than
+     * in {@link #run()}, so their results only agree statistically.
+     */
+    public ArenaResults runBatched() {
+        List<int[]> pairs = getAllPairs();
+        int chunksPerPairing = getChunksPerPairing();
+        int[][] unitResults = new int[pairs.size() * chunksPerPairing][];
+        AtomicIntegerArray remainingUnits = planProgress(pairs.size(), chunksPerPairing, (long) pairs.size() * repeats);
+        ForkJoinPool.commonPool().invoke(new IndexRange(0, unitResults.length, unit -> {
+            long start = System.nanoTime();
+            int[] pair = pairs.get(unit / chunksPerPairing);
+            unitResults[unit] = runBatch(pair[0], pair[1], unit % chunksPerPairing);
+            reportUnit(remainingUnits, unit / chunksPerPairing, unitResults[unit], System.nanoTime() - start, null);
+        }));
+        return merge(unitResults);
+    }
+
+    /**
+     * Runs the arena with variance reduction, so fewer auctions give the same precision.
+     * <p>
+     * The auctions of a pairing run in blocks of two, one with the random streams of the block and one with their
+     * {@link AntitheticRandom mirrors}, so a lucky high draw is balanced by the matching low draw.
+     * The stream of a bidder depends only on the bidder and the block, not on the opponent. These common random
+     * numbers make the scores of two bidders against the same opponent positively correlated, so the difference
+     * between them, which decides the ranking, varies less than the scores themselves.
+     * Bidder i plays as bidder 1 in the first auction of a block and as bidder 2 in the second.
+     * <p>
+     * The Gaussian draws of the first quantity / 2 draws of each bidder are stratified across the blocks,
+     * see {@link StratifiedRandom}: the k-th draw of a bidder covers every one of blocks equally likely ranges of
+     * the normal distribution exactly once. Like the streams, the strata of a bidder do not depend on the opponent.
+     * <p>
+     * The standard error of a score is measured from the spread of the block scores,
+     * see {@link ArenaResults#getStandardError(int, int)}. This treats the blocks as independent, but stratification
+     * makes them negatively correlated, so the measured error is an upper bound of the true error.
+     * The repeats of the arena are rounded up to a multiple of two.
+     */
+    public ArenaResults runVarianceReduced() {
+        List<int[]> pairs = getAllPairs();
+        int blocksPerChunk = Math.max(chunkSize / 2, 1);
+        int blocks = (repeats + 1) / 2;
+        int chunksPerPairing = (blocks + blocksPerChunk - 1) / blocksPerChunk;
+        int[][] unitResults = new int[pairs.size() * chunksPerPairing][];
+        // Sum and sum of squares of the block scores of each unit
+        double[][] unitSums = new double[unitResults.length][];
+        // strata[i] = the strata of the Gaussian draws of bidder i, the keys are negative to stay apart from the blocks
+        int[][][] strata = new int[bidders.size()][][];
+        for (int i = 0; i < strata.length; i++) {
+            strata[i] = StratifiedRandom.createStrata(quantity / 2, blocks, Seeds.derive(seed, i, -1));
+        }
+        AtomicIntegerArray remainingUnits = planProgress(pairs.size(), chunksPerPairing, 2L * pairs.size() * blocks);
+        ForkJoinPool.commonPool().invoke(new IndexRange(0, unitResults.length, unit -> {
+            long start = System.nanoTime();
+            int[] pair = pairs.get(unit / chunksPerPairing);
+            int chunk = unit % chunksPerPairing;
+            int from = chunk * blocksPerChunk;
+            int to = Math.min(from + blocksPerChunk, blocks);
+            unitSums[unit] = new double[2];
+            unitResults[unit] = runBlocks(pair[0], pair[1], from, to, strata, unitSums[unit]);
+            reportUnit(remainingUnits, unit / chunksPerPairing, unitResults[unit], System.nanoTime() - start, null);
+        }));
+
+        ArenaResults results = merge(unitResults);
+        for (int pairing = 0; pairing < pairs.size(); pairing++) {
+            double sum = 0;
+            double sumOfSquares = 0;
+            for (int chunk = 0; chunk < chunksPerPairing; chunk++) {
+                sum += unitSums[pairing * chunksPerPairing + chunk][0];
+                sumOfSquares += unitSums[pairing * chunksPerPairing + chunk][1];
+            }
+            double standardError = Double.POSITIVE_INFINITY;
+            if (blocks > 1) {
+                double mean = sum / blocks;
+                double variance = Math.max(sumOfSquares / blocks - mean * mean, 0.0) * blocks / (blocks - 1);
+                standardError = Math.sqrt(variance / blocks);
+            }
+            results.setStandardError(pairs.get(pairing)[0], pairs.get(pairing)[1], standardError);
+        }
+        return results;
+    }
+
+    /**
+     * Runs the blocks [from, to) of two auctions between bidder i and bidder j, see {@link #runVarianceReduced()}.
+     *
+     * @param strata the strata of the Gaussian draws of every bidder, see {@link StratifiedRandom#createStrata}
+     * @param sums   receives the sum and the sum of squares of the scores of bidder i in the blocks
+     * @return A 5-element array: bidder i, bidder j, wins of i, ties, wins of j
+     */
+    private int[] runBlocks(int i, int j, int from, int to, int[][][] strata, double[] sums) {
+        Bidder bidderI = createBidder(i);
+        Bidder bidderJ = createBidder(j);
+        int iWins = 0;
+        int ties = 0;
+        int jWins = 0;
+        for (int block = from; block < to; block++) {
+            // The same streams as against every other opponent in this block
+            long seedI = Seeds.derive(seed, i, block);
+            long seedJ = Seeds.derive(seed, j, block);
+            AuctionResult plain = new Auction(bidderI, bidderJ, quantity, cash,
+                    new StratifiedRandom(new SplittableRandom(seedI), strata[i], block),
+                    new StratifiedRandom(new SplittableRandom(seedJ), strata[j], block)).run();
+            AuctionResult mirrored = new Auction(bidderJ, bidderI, quantity, cash,
+                    new AntitheticRandom(new StratifiedRandom(new SplittableRandom(seedJ), strata[j], block)),
+                    new AntitheticRandom(new StratifiedRandom(new SplittableRandom(seedI), strata[i], block))).run();
+
+            // Points of bidder i in this block, 2 for a win and 1 for a tie
+            int points = 0;
+            if (plain == AuctionResult.BIDDER_1_WINS) {
+                iWins++;
+                points += 2;
+            } else if (plain == AuctionResult.TIE) {
+                ties++;
+                points += 1;
+            } else {
+                jWins++;
+            }
+            if (mirrored == AuctionResult.BIDDER_2_WINS) {
+                iWins++;
+                points += 2;
+            } else if (mirrored == AuctionResult.TIE) {
+                ties++;
+                points += 1;
+            } else {
+                jWins++;
+            }
+            double score = points / 4.0;
+            sums[0] += score;
+            sums[1] += score * score;
+        }
+        return new int[]{i, j, iWins, ties, jWins};
+    }
+
+    /**
+     * Runs the arena on the calling thread.
+     * Runs exactly the same units as {@link #run()}, just one after another.
+     */
+    public ArenaResults runSerial() {
+        List<int[]> pairs = getAllPairs();
+        int[][] unitResults = new int[pairs.size() * getChunksPerPairing()][];
+        for (int unit = 0; unit < unitResults.length; unit++) {
+            unitResults[unit] = runUnit(pairs, unit, null, null);
+        }
+        return merge(unitResults);
+    }
+
+    /**
+     * Runs the arena, but only simulates pairings that are not in the cache.
+     * The results of these pairings are added to the cache.
+     * <p>
+     * The results are the same as the results of {@link #run()} with the same bidders in the same order.
+     * Bidders are identified by their class and their {@link Bidder#getConfiguration() configuration}, and a pairing
+     * by the indices of its bidders as well, since its random streams are derived from them. So two bidders of the
+     * same class with different configurations have their own entries, and reordering the bidders simulates
+     * the moved pairings again.
+     * Bidders do not reference the classes that run and score the auctions, so these are fingerprinted separately.
+     */
+    public ArenaResults run(ResultCache cache) throws IOException {
+        String engine = ClassFingerprint.ofAll(Auction.class, BidderArena.class, Seeds.class);
+        String[] fingerprints = new String[bidders.size()];
+        String[] configurations = new String[bidders.size()];
+        for (int i = 0; i < fingerprints.length; i++) {
+            Bidder bidder = createBidder(i);
+            fingerprints[i] = ClassFingerprint.of(bidder.getClass());
+            configurations[i] = bidder.getConfiguration();
+        }
+
+        ArenaResults results = new ArenaResults(bidders.size());
+        List<int[]> missingPairs = new ArrayList<>();
+        List<byte[]> missingKeys = new ArrayList<>();
+        for (int[] pair : getAllPairs()) {
+            int i = pair[0];
+            int j = pair[1];
+            byte[] key = ResultCache.key(engine, fingerprints[i], configurations[i], fingerprints[j], configurations[j],
+                    i, j, quantity, cash, repeats, chunkSize, seed);
+            int[] counts = cache.get(key);
+            if (counts != null) {
+                results.add(i, j, counts[0], counts[1], counts[2]);
+                if (progress != null) {
+                    progress.addCached(i, j, counts[0], counts[1], counts[2]);
+                }
+            } else {
+                missingPairs.add(pair);
+                missingKeys.add(key);
+            }
+        }
+
+        ArenaResults fresh = run(ForkJoinPool.commonPool(), missingPairs, null, false);
+        for (int k = 0; k < missingPairs.size(); k++) {
+            int i = missingPairs.get(k)[0];
+            int j = missingPairs.get(k)[1];
+            cache.put(missingKeys.get(k), fresh.getWins(i, j), fresh.getTies(i, j), fresh.getWins(j, i));
+        }
+        results.merge(fresh);
+        return results;
+    }
+
+    /**
+     * Runs the arena with adaptive repeats.
+     * <p>
+     * Each pairing runs chunk after chunk, until the confidence interval of its score is narrower than the given width,
+     * or until the repeats of the arena are used up. The interval is a Wilson interval, see
+     * {@link ArenaResults#getConfidenceHalfWidth(int, int, int)}. A pairing of two deterministic bidders plays the
+     * same auction every time and stops after the first chunk. Any other pairing plays at least
+     * {@link #MIN_ADAPTIVE_CHUNKS} chunks, so a one-sided first chunk of a noisy pairing does not stop it,
+     * and gets up to the full budget. The chunks have the same random streams as in {@link #run()},
+     * so a pairing that uses the full budget gives the same result as in the fixed mode.
+     * The pairings run in parallel.
+     *
+     * @param width the width of the 95% confidence interval of the score at which a pairing stops, between 0 and 1
+     * @return the results, with the number of auctions of each pairing
+     */
+    public ArenaResults runAdaptive(double width) {
+        List<int[]> pairs = getAllPairs();
+        int[][] pairResults = new int[pairs.size()][];
+        if (progress != null) {
+            // The most auctions the pairings may play
+            progress.plan(pairs.size(), (long) pairs.size() * repeats);
+        }
+        ForkJoinPool.commonPool().invoke(new IndexRange(0, pairs.size(), pairing -> {
+            int i = pairs.get(pairing)[0];
+            int j = pairs.get(pairing)[1];
+            int[] pairResult = {i, j, 0, 0, 0};
+            boolean deterministic = createBidder(i).isDeterministic() && createBidder(j).isDeterministic();
+            int minChunks = deterministic ? 1 : MIN_ADAPTIVE_CHUNKS;
+            for (int chunk = 0; chunk < getChunksPerPairing(); chunk++) {
+                long start = System.nanoTime();
+                int[] chunkResult = runChunk(i, j, chunk, null, null);
+                if (progress != null) {
+                    progress.add(i, j, chunkResult[2], chunkResult[3], chunkResult[4], System.nanoTime() - start);
+                }
+                pairResult[2] += chunkResult[2];
+                pairResult[3] += chunkResult[3];
+                pairResult[4] += chunkResult[4];
+                if (chunk + 1 >= minChunks
+                        && 2 * ArenaResults.getConfidenceHalfWidth(pairResult[2], pairResult[3], pairResult[4]) < width) {
+                    break;
+                }
+            }
+            pairResults[pairing] = pairResult;
+            if (progress != null) {
+                progress.finishPairing();
+            }
+        }));
+        return merge(pairResults);
+    }
+
+    public int getBidderCount() {
+        return bidders.size();
+    }
+
+    /**
+     * Creates a fresh instance of bidder i.
+     */
+    public Bidder createBidder(int i) {
+        return bidders.get(i).get();
+    }
+
+    /**
+     * @return the number of units of work of a full run, see {@link #runUnit(int)}
+     */
+    public int getUnitCount() {
+        return getAllPairs().size() * getChunksPerPairing();
+    }
+
+    /**
+     * Runs one unit of work of a full run on the calling thread.
+     * The unit gives the same result as in {@link #run()}, so units can be run anywhere and merged later.
+     *
+     * @param unit the index of the unit, between 0 and {@link #getUnitCount()} - 1
+     * @return A 5-element array: bidder i, bidder j, wins of i, ties, wins of j
+     */
+    public int[] runUnit(int unit) {
+        return runUnit(getAllPairs(), unit, null, null);
+    }
+
+    /**
+     * @return a description of everything that determines the results of a run, to check that two arenas are the same
+     */
+    String describe() {
+        StringBuilder description = new StringBuilder();
+        description.append(String.format("quantity=%d cash=%d repeats=%d chunkSize=%d seed=%d%n", quantity, cash, repeats, chunkSize, seed));
+        for (int i = 0; i < bidders.size(); i++) {
+            description.append(createBidder(i).getClass().getName()).append('\n');
+        }
+        return description.toString();
+    }
+
+    /**
+     * Adds the pairings and auctions of a run to the progress.
+     *
+     * @return the number of units left for every pairing, or null if there is no progress
+     */
+    private AtomicIntegerArray planProgress(int pairings, int unitsPerPairing, long auctions) {
+        if (progress == null) {
+            return null;
+        }
+        progress.plan(pairings, auctions);
+        AtomicIntegerArray remainingUnits = new AtomicIntegerArray(pairings);
+        for (int pairing = 0; pairing < pairings; pairing++) {
+            remainingUnits.set(pairing, unitsPerPairing);
+        }
+        return remainingUnits;
+    }
+
+    /**
+     * Reports a finished unit to the progress, if there is one.
+     *
+     * @param remainingUnits the units left for every pairing, see {@link #planProgress}
+     * @param unitResult     bidder i, bidder j, wins of i, ties, wins of j
+     * @param metrics        the metrics of bidder i and bidder j measured by the unit, or null
+     */
+    private void reportUnit(AtomicIntegerArray remainingUnits, int pairing, int[] unitResult, long nanos, BidderMetrics[] metrics) {
+        if (remainingUnits == null) {
+            return;
+        }
+        progress.add(unitResult[0], unitResult[1], unitResult[2], unitResult[3], unitResult[4], nanos);
+        if (metrics != null) {
+            progress.addMetrics(unitResult[0], metrics[0]);
+            progress.addMetrics(unitResult[1], metrics[1]);
+        }
+        if (remainingUnits.decrementAndGet(pairing) == 0) {
+            progress.finishPairing();
+        }
+    }
+
+    private int getChunksPerPairing() {
+        return (repeats + chunkSize - 1) / chunkSize;
+    }
+
+    /**
+     * @return all pairs (i, j) with i < j, in the same order as a nested loop over i and j
+     */
+    private List<int[]> getAllPairs() {
+        List<int[]> pairs = new ArrayList<>();
+        for (int i = 0; i < bidders.size(); i++) {
+            for (int j = i + 1; j < bidders.size(); j++) {
+                pairs.add(new int[]{i, j});
+            }
+        }
+        return pairs;
+    }
+
+    /**
+     * Runs one unit of work.
+     *
+     * @param pairs      the pairings that are run
+     * @param unit       the index of the unit
+     * @param transcript the transcript to record the auctions to, or null
+     * @param metrics    the metrics of bidder i and bidder j to measure into, or null
+     * @return A 5-element array: bidder i, bidder j, wins of i, ties, wins of j
+     */
+    private int[] runUnit(List<int[]> pairs, int unit, TranscriptWriter transcript, BidderMetrics[] metrics) {
+        int chunksPerPairing = getChunksPerPairing();
+        int[] pair = pairs.get(unit / chunksPerPairing);
+        return runChunk(pair[0], pair[1], unit % chunksPerPairing, transcript, metrics);
+    }
+
+    /**
+     * Runs one chunk of the auctions between bidder i and bidder j.
+     * The chunk has its own random streams, so it gives the same results no matter when and where it runs.
+     *
+     * @param transcript the transcript to record the auctions to, or null
+     * @param metrics    the metrics of bidder i and bidder j to measure into, or null
+     * @return A 5-element array: bidder i, bidder j, wins of i, ties, wins of j
+     */
+    private int[] runChunk(int i, int j, int chunk, TranscriptWriter transcript, BidderMetrics[] metrics) {
+        // This chunk runs the auctions [chunk * chunkSize, min((chunk + 1) * chunkSize, repeats))
+        int auctions = Math.min(chunkSize, repeats - chunk * chunkSize);
+        AuctionListener listener = transcript == null ? AuctionListener.NONE
+                : new TranscriptListener(transcript, i, j, (long) chunk * chunkSize);
+        Bidder bidder1 = createBidder(i);
+        Bidder bidder2 = createBidder(j);
+        if (metrics != null) {
+            bidder1 = new MeasuredBidder(bidder1, metrics[0]);
+            bidder2 = new MeasuredBidder(bidder2, metrics[1]);
+        }
+        Auction auction = new Auction(bidder1, bidder2, quantity, cash,
+                new SplittableRandom(Seeds.derive(seed, i, j, chunk, 1)),
+                new SplittableRandom(Seeds.derive(seed, i, j, chunk, 2)),
+                listener);
+        // Two deterministic bidders play the same auction every time, so simulate it once and count it for all.
+        // Transcripts and measurements need every auction, so they run in full.
+        if (transcript == null && metrics == null && bidder1.isDeterministic() && bidder2.isDeterministic() && auctions > 0) {
+            int[] result = runAuctions(auction, 1, i, j);
+            result[2] *= auctions;
+            result[3] *= auctions;
+            result[4] *= auctions;
+            return result;
+        }
+        return runAuctions(auction, auctions, i, j);
+    }
+
+    /**
+     * Runs one chunk of the auctions between bidder i and bidder j as one batch, see {@link #runBatched()}.
+     *
+     * @return A 5-element array: bidder i, bidder j, wins of i, ties, wins of j
+     */
+    private int[] runBatch(int i, int j, int chunk) {
+        int auctions = Math.min(chunkSize, repeats - chunk * chunkSize);
+        BatchAuction batch = new BatchAuction(
+                BatchBidders.forBidder(bidders.get(i), Seeds.derive(seed, i, j, chunk, 1)),
+                BatchBidders.forBidder(bidders.get(j), Seeds.derive(seed, i, j, chunk, 2)),
+                quantity, cash, auctions);
+        int[] counts = batch.run();
+        return new int[]{i, j, counts[AuctionResult.BIDDER_1_WINS.ordinal()], counts[AuctionResult.TIE.ordinal()],
+                counts[AuctionResult.BIDDER_2_WINS.ordinal()]};
+    }
+
+    /**
+     * Runs one chunk of the auctions between bidder i and bidder j with a time budget for every bidder call.
+     *
+     * @param budgetNanos the time every call of a bidder may take
+     * @return A 7-element array: bidder i, bidder j, wins of i, ties, wins of j, timeouts of i, timeouts of j
+     */
+    private int[] runDeadlineChunk(int i, int j, int chunk, long budgetNanos) {
+        int auctions = Math.min(chunkSize, repeats - chunk * chunkSize);
+        try (DeadlineBidder bidder1 = new DeadlineBidder(bidders.get(i), budgetNanos);
+             DeadlineBidder bidder2 = new DeadlineBidder(bidders.get(j), budgetNanos)) {
+            Auction auction = new Auction(bidder1, bidder2, quantity, cash,
+                    new SplittableRandom(Seeds.derive(seed, i, j, chunk, 1)),
+                    new SplittableRandom(Seeds.derive(seed, i, j, chunk, 2)));
+            int[] result = Arrays.copyOf(runAuctions(auction, auctions, i, j), 7);
+            result[5] = bidder1.getTimeouts();
+            result[6] = bidder2.getTimeouts();
+            return result;
+        }
+    }
+
+    /**
+     * Runs an auction several times and counts the outcomes.
+     *
+     * @return A 5-element array: bidder i, bidder j, wins of i, ties, wins of j
+     */
+    private static int[] runAuctions(Auction auction, int auctions, int i, int j) {
+        int iWins = 0;
+        int ties = 0;
+        int jWins = 0;
+        for (int k = 0; k < auctions; k++) {
+            switch (auction.run()) {
+                case BIDDER_1_WINS -> iWins++;
+                case BIDDER_2_WINS -> jWins++;
+                case TIE -> ties++;
+            }
+        }
+        return new int[]{i, j, iWins, ties, jWins};
+    }
+
+    /**
+     * Runs auctions between bidder i and bidder j, who swap seats after every auction, and counts the outcomes.
+     * Bidder i sits in seat 1 in the even auctions, bidder j in the odd ones.
+     *
+     * @param iFirst the auction with bidder i as bidder 1
+     * @param jFirst the auction with the same bidders and random streams, but bidder j as bidder 1
+     * @return A 5-element array: bidder i, bidder j, wins of i, ties, wins of j
+     */
+    static int[] runAlternatingAuctions(Auction iFirst, Auction jFirst, int auctions, int i, int j) {
+        int iWins = 0;
+        int ties = 0;
+        int jWins = 0;
+        for (int k = 0; k < auctions; k++) {
+            boolean swapped = k % 2 == 1;
+            switch ((swapped ? jFirst : iFirst).run()) {
+                case BIDDER_1_WINS -> {
+                    if (swapped) jWins++; else iWins++;
+                }
+                case BIDDER_2_WINS -> {
+                    if (swapped) iWins++; else jWins++;
+                }
+                case TIE -> ties++;
+            }
+        }
+        return new int[]{i, j, iWins, ties, jWins};
+    }
+
+    /**
+     * Merges the results of units into one result set.
+     */
+    ArenaResults merge(int[][] unitResults) {
+        ArenaResults results = new ArenaResults(bidders.size());
+        for (int[] unitResult : unitResults) {
+            results.add(unitResult[0], unitResult[1], unitResult[2], unitResult[3], unitResult[4]);
+        }
+        return results;
+    }
+}
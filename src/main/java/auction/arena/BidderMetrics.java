@@ -0,0 +1,57 @@
+package auction.arena;
+
+/**
+ * How expensive a bidder was in an arena run: the latency of its calls and the memory it allocated.
+ */
+public class BidderMetrics {
+    private final LatencyHistogram placeBidLatency = new LatencyHistogram();
+    private final LatencyHistogram bidsLatency = new LatencyHistogram();
+    private long allocatedBytes = 0;
+    private long auctions = 0;
+
+    /**
+     * @return the latency of {@link auction.Bidder#placeBid()}
+     */
+    public LatencyHistogram getPlaceBidLatency() {
+        return placeBidLatency;
+    }
+
+    /**
+     * @return the latency of {@link auction.Bidder#bids(int, int)}
+     */
+    public LatencyHistogram getBidsLatency() {
+        return bidsLatency;
+    }
+
+    /**
+     * @return the bytes allocated by the bidder per auction on average, or -1 if the JVM cannot measure allocations
+     */
+    public double getAllocatedBytesPerAuction() {
+        if (!MeasuredBidder.ALLOCATIONS_SUPPORTED) {
+            return -1;
+        }
+        return auctions == 0 ? 0.0 : (double) allocatedBytes / auctions;
+    }
+
+    public long getAuctions() {
+        return auctions;
+    }
+
+    void addAllocatedBytes(long bytes) {
+        allocatedBytes += bytes;
+    }
+
+    void addAuction() {
+        auctions++;
+    }
+
+    /**
+     * Adds all measurements of another metrics object to this one.
+     */
+    public void merge(BidderMetrics other) {
+        placeBidLatency.merge(other.placeBidLatency);
+        bidsLatency.merge(other.bidsLatency);
+        allocatedBytes += other.allocatedBytes;
+        auctions += other.auctions;
+    }
+}
@@ -0,0 +1,136 @@
+package auction.arena;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Computes a hash of the implementation of a class.
+ * <p>
+ * The hash covers the class file of the class and of every class it references, transitively,
+ * except the classes of the JDK. So changing a helper class of a bidder, e.g. the categorizer of
+ * {@link auction.bidders.mybidder.MyBidder}, changes the fingerprint of the bidder as well.
+ * References are read from the constant pool of the class files.
+ */
+public class ClassFingerprint {
+    // Class names in descriptors, e.g. the field type in "Lauction/Bidder;"
+    private final static Pattern DESCRIPTOR_CLASS = Pattern.compile("L([\\w/$]+);");
+
+    /**
+     * @return the hex-encoded SHA-256 hash of the class and the classes it references
+     * @throws IOException if a class file cannot be read
+     */
+    public static String of(Class<?> type) throws IOException {
+        return ofAll(type);
+    }
+
+    /**
+     * @return the hex-encoded SHA-256 hash of the given classes and all classes they reference
+     * @throws IOException if a class file cannot be read
+     */
+    public static String ofAll(Class<?>... types) throws IOException {
+        assert types.length > 0 : "At least one class is needed";
+        ClassLoader loader = types[0].getClassLoader() != null ? types[0].getClassLoader() : ClassLoader.getSystemClassLoader();
+        // Sorted, so the hash does not depend on the order in which the classes were found
+        Set<String> visited = new TreeSet<>();
+        Deque<String> queue = new ArrayDeque<>();
+        for (Class<?> type : types) {
+            queue.add(type.getName().replace('.', '/'));
+        }
+        while (!queue.isEmpty()) {
+            String name = queue.poll();
+            if (isJdkClass(name) || !visited.add(name)) {
+                continue;
+            }
+            byte[] bytes = readClassFile(loader, name);
+            if (bytes != null) {
+                queue.addAll(getReferencedClasses(bytes));
+            }
+        }
+
+        MessageDigest digest = newDigest();
+        for (String name : visited) {
+            digest.update(name.getBytes());
+            byte[] bytes = readClassFile(loader, name);
+            if (bytes != null) {
+                digest.update(bytes);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required by every JDK", e);
+        }
+    }
+
+    private static boolean isJdkClass(String name) {
+        return name.startsWith("java/") || name.startsWith("javax/") || name.startsWith("jdk/")
+                || name.startsWith("sun/") || name.startsWith("com/sun/");
+    }
+
+    private static byte[] readClassFile(ClassLoader loader, String name) throws IOException {
+        try (InputStream in = loader.getResourceAsStream(name + ".class")) {
+            return in == null ? null : in.readAllBytes();
+        }
+    }
+
+    /**
+     * Reads the names of all classes in the constant pool of a class file,
+     * both class entries and classes in descriptors.
+     */
+    private static Set<String> getReferencedClasses(byte[] classFile) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(classFile));
+        in.skipBytes(8); // magic, minor and major version
+        int count = in.readUnsignedShort();
+        String[] utf8 = new String[count];
+        int[] classNames = new int[count];
+        int classCount = 0;
+        for (int index = 1; index < count; index++) {
+            int tag = in.readUnsignedByte();
+            switch (tag) {
+                case 1 -> utf8[index] = in.readUTF();
+                case 7 -> classNames[classCount++] = in.readUnsignedShort();
+                case 8, 16, 19, 20 -> in.skipBytes(2);
+                case 15 -> in.skipBytes(3);
+                case 3, 4, 9, 10, 11, 12, 17, 18 -> in.skipBytes(4);
+                case 5, 6 -> {
+                    // Long and double take two entries
+                    in.skipBytes(8);
+                    index++;
+                }
+                default -> throw new IOException("Unknown constant pool tag " + tag);
+            }
+        }
+
+        Set<String> classes = new TreeSet<>();
+        for (int i = 0; i < classCount; i++) {
+            String name = utf8[classNames[i]];
+            if (!name.startsWith("[")) {
+                classes.add(name);
+            }
+        }
+        for (String string : utf8) {
+            if (string != null) {
+                Matcher matcher = DESCRIPTOR_CLASS.matcher(string);
+                while (matcher.find()) {
+                    classes.add(matcher.group(1));
+                }
+            }
+        }
+        return classes;
+    }
+}
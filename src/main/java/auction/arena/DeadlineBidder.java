@@ -0,0 +1,154 @@
+package auction.arena;
+
+import auction.Bidder;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+
+/**
+ * Runs every call of a bidder on its own thread and gives up on calls that take longer than the budget.
+ * <p>
+ * A bidder that misses the deadline forfeits the rest of the auction: it bids 0 and does not see any more bids.
+ * Its call may still be running, so the bidder is replaced by a fresh instance from the factory at the next auction,
+ * on a fresh thread. The stuck thread is interrupted and abandoned, it is a daemon thread so it cannot keep
+ * the JVM alive. A bidder that ignores interrupts keeps using its core until it returns.
+ * <p>
+ * Every thread is started and has run a first task before the bidder's first call, so starting the thread
+ * is not charged to the bidder, only the time of its own calls.
+ * <p>
+ * Handing every call to another thread costs a few microseconds, so this is only meant for untrusted bidders.
+ */
+class DeadlineBidder implements Bidder, AutoCloseable {
+    private final Supplier<Bidder> factory;
+    private final long budgetNanos;
+
+    private Bidder bidder;
+    private ExecutorService executor;
+    // Whether the bidder missed a deadline in the current auction
+    private boolean forfeited = false;
+    private int timeouts = 0;
+
+    /**
+     * @param factory     creates the bidder, and a new one after each timeout
+     * @param budgetNanos the time each call may take
+     */
+    DeadlineBidder(Supplier<Bidder> factory, long budgetNanos) {
+        this.factory = factory;
+        this.budgetNanos = budgetNanos;
+        this.bidder = factory.get();
+        this.executor = createExecutor();
+    }
+
+    /**
+     * Creates the single thread of a bidder and waits until it has run a first, empty task.
+     */
+    private static ExecutorService createExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.NANOSECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "deadline-bidder");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.prestartCoreThread();
+        try {
+            executor.submit(() -> 0).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Empty task failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while starting the bidder thread", e);
+        }
+        return executor;
+    }
+
+    /**
+     * @return how many calls missed the deadline
+     */
+    int getTimeouts() {
+        return timeouts;
+    }
+
+    @Override
+    public void init(int quantity, int cash) {
+        init(quantity, cash, null);
+    }
+
+    @Override
+    public void init(int quantity, int cash, RandomGenerator random) {
+        if (forfeited) {
+            // The old bidder may still be running, start over with a new one
+            executor.shutdownNow();
+            executor = createExecutor();
+            bidder = factory.get();
+            forfeited = false;
+        }
+        call(() -> {
+            if (random == null) {
+                bidder.init(quantity, cash);
+            } else {
+                bidder.init(quantity, cash, random);
+            }
+            return 0;
+        });
+    }
+
+    @Override
+    public int placeBid() {
+        if (forfeited) {
+            return 0;
+        }
+        return call(bidder::placeBid);
+    }
+
+    @Override
+    public void bids(int own, int other) {
+        if (forfeited) {
+            return;
+        }
+        call(() -> {
+            bidder.bids(own, other);
+            return 0;
+        });
+    }
+
+    /**
+     * Runs the call on the thread of the bidder and waits for at most the budget.
+     *
+     * @return the result of the call, or 0 if it missed the deadline
+     */
+    private int call(Callable<Integer> call) {
+        Future<Integer> future = executor.submit(call);
+        try {
+            return future.get(budgetNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timeouts++;
+            forfeited = true;
+            return 0;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Bidder failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the bidder", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,33 @@
+package auction.arena;
+
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Runs an action for a range of indices, splitting the range in halves until only one index is left.
+ */
+class IndexRange extends RecursiveAction {
+    private final static long serialVersionUID = 1L;
+
+    private final int from;
+    private final int to;
+    private final IntConsumer action;
+
+    IndexRange(int from, int to, IntConsumer action) {
+        this.from = from;
+        this.to = to;
+        this.action = action;
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= 1) {
+            if (from < to) {
+                action.accept(from);
+            }
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        invokeAll(new IndexRange(from, middle, action), new IndexRange(middle, to, action));
+    }
+}
@@ -0,0 +1,103 @@
+package auction.arena;
+
+import auction.Auction;
+import auction.Bidder;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+/**
+ * Ranks a large pool of bidders with a Swiss-style ladder instead of a full round robin.
+ * <p>
+ * Each round, the bidders are sorted by rating and paired with their neighbour, alternating between pairing
+ * (0, 1), (2, 3), ... and (1, 2), (3, 4), ..., so bidders move up and down the ladder. Each match is a few
+ * auctions with alternating seats, the matches of a round run in parallel. After a round, the {@link Ratings}
+ * are updated from all matches, and the tournament stops once every rating deviation is below the target.
+ * <p>
+ * A round costs N / 2 matches, so the tournament needs O(N) auctions per round instead of O(N^2) for the round robin.
+ * Like the {@link BidderArena}, every match has its own random streams, derived from the seed, the round and the
+ * pairing, so a tournament with the same seed gives the same ratings.
+ */
+public class LadderTournament {
+    /**
+     * How many auctions each match has.
+     */
+    public final static int DEFAULT_AUCTIONS_PER_MATCH = 20;
+
+    private final List<Supplier<Bidder>> bidders;
+    private final int quantity;
+    private final int cash;
+    private final int auctionsPerMatch;
+    private final long seed;
+
+    /**
+     * Creates a new tournament.
+     *
+     * @param bidders          factories for the bidders to rank
+     * @param quantity         the quantity auctioned in each auction
+     * @param cash             the cash each bidder starts with in each auction
+     * @param auctionsPerMatch how many auctions each match has
+     * @param seed             the master seed, the same seed gives the same ratings
+     */
+    public LadderTournament(List<Supplier<Bidder>> bidders, int quantity, int cash, int auctionsPerMatch, long seed) {
+        this.bidders = List.copyOf(bidders);
+        this.quantity = quantity;
+        this.cash = cash;
+        this.auctionsPerMatch = auctionsPerMatch;
+        this.seed = seed;
+
+        assert this.bidders.size() >= 2 : "A tournament needs at least two bidders";
+        assert auctionsPerMatch > 0 : "Auctions per match must be greater than zero";
+    }
+
+    /**
+     * Runs rounds until every rating deviation is below the target, or the maximum number of rounds was played.
+     *
+     * @param targetDeviation the rating deviation at which the ratings are precise enough, e.g. 30
+     * @param maxRounds       the maximum number of rounds
+     * @return the ratings of the bidders
+     */
+    public Ratings run(double targetDeviation, int maxRounds) {
+        Ratings ratings = new Ratings(bidders.size());
+        for (int round = 0; round < maxRounds && ratings.getMaxDeviation() >= targetDeviation; round++) {
+            runRound(ratings, round);
+        }
+        return ratings;
+    }
+
+    /**
+     * Pairs the bidders by rating, runs the matches in parallel and updates the ratings.
+     */
+    private void runRound(Ratings ratings, int round) {
+        int[] ladder = ratings.getRanking();
+        // Every other round, the top bidder sits out, so neighbours change
+        int offset = round % 2;
+        int matches = (ladder.length - offset) / 2;
+        int[][] matchResults = new int[matches][];
+        ForkJoinPool.commonPool().invoke(new IndexRange(0, matches, match -> {
+            int i = ladder[offset + 2 * match];
+            int j = ladder[offset + 2 * match + 1];
+            matchResults[match] = runMatch(i, j, round);
+        }));
+        for (int[] result : matchResults) {
+            ratings.update(result[0], result[1], result[2], result[3], result[4]);
+        }
+    }
+
+    /**
+     * Runs one match between bidder i and bidder j. The bidders swap seats after every auction.
+     *
+     * @return A 5-element array: bidder i, bidder j, wins of i, ties, wins of j
+     */
+    private int[] runMatch(int i, int j, int round) {
+        Bidder bidderI = bidders.get(i).get();
+        Bidder bidderJ = bidders.get(j).get();
+        SplittableRandom randomI = new SplittableRandom(Seeds.derive(seed, round, i, j, 1));
+        SplittableRandom randomJ = new SplittableRandom(Seeds.derive(seed, round, i, j, 2));
+        Auction iFirst = new Auction(bidderI, bidderJ, quantity, cash, randomI, randomJ);
+        Auction jFirst = new Auction(bidderJ, bidderI, quantity, cash, randomJ, randomI);
+        return BidderArena.runAlternatingAuctions(iFirst, jFirst, auctionsPerMatch, i, j);
+    }
+}
@@ -0,0 +1,84 @@
+package auction.arena;
+
+/**
+ * A histogram of durations in nanoseconds with log-linear buckets.
+ * <p>
+ * Durations below 16 ns have a bucket each. Above, every power of two is split into 16 buckets,
+ * so a percentile is exact to about 6%. Recording is a few shifts and an array increment, and never allocates.
+ * A histogram is not thread-safe, every thread records into its own histogram and they are merged afterwards.
+ */
+public class LatencyHistogram {
+    private final static int SUB_BUCKET_BITS = 4;
+    private final static int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private final long[] counts = new long[(64 - SUB_BUCKET_BITS) * SUB_BUCKETS];
+    private long totalCount = 0;
+    private long max = 0;
+
+    /**
+     * Records a duration.
+     *
+     * @param nanos the duration in nanoseconds, negative durations are recorded as 0
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        counts[getBucket(value)]++;
+        totalCount++;
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Adds all recorded durations of another histogram to this one.
+     */
+    public void merge(LatencyHistogram other) {
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            counts[bucket] += other.counts[bucket];
+        }
+        totalCount += other.totalCount;
+        max = Math.max(max, other.max);
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * @param percentile the percentile, between 0 and 100, e.g. 99.9
+     * @return the smallest duration of the bucket that contains the percentile, or 0 if nothing was recorded
+     */
+    public long getPercentile(double percentile) {
+        // The rank of the percentile, starting at 1
+        long rank = Math.max((long) Math.ceil(percentile / 100.0 * totalCount), 1);
+        long seen = 0;
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                return getLowestValue(bucket);
+            }
+        }
+        return 0;
+    }
+
+    private static int getBucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        // The position of the highest bit, at least SUB_BUCKET_BITS
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long getLowestValue(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = bucket % SUB_BUCKETS;
+        return (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+    }
+}
@@ -0,0 +1,76 @@
+package auction.arena;
+
+import auction.Bidder;
+
+import java.lang.management.ManagementFactory;
+import java.util.random.RandomGenerator;
+
+/**
+ * Wraps a bidder and measures the latency of its calls and the memory it allocates.
+ * <p>
+ * Allocations are measured with the allocation counter of the current thread, before and after each call.
+ * The counter is read outside the timed section, so it does not distort the latencies.
+ * Each measured bidder must only be used by one thread at a time, like the metrics it records into.
+ */
+class MeasuredBidder implements Bidder {
+    private final static com.sun.management.ThreadMXBean THREADS = getThreadMXBean();
+    final static boolean ALLOCATIONS_SUPPORTED = THREADS != null;
+
+    private final Bidder bidder;
+    private final BidderMetrics metrics;
+
+    MeasuredBidder(Bidder bidder, BidderMetrics metrics) {
+        this.bidder = bidder;
+        this.metrics = metrics;
+    }
+
+    private static com.sun.management.ThreadMXBean getThreadMXBean() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads)
+                || !threads.isThreadAllocatedMemorySupported()) {
+            return null;
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+        return threads;
+    }
+
+    private static long getAllocatedBytes() {
+        return ALLOCATIONS_SUPPORTED ? THREADS.getCurrentThreadAllocatedBytes() : 0;
+    }
+
+    @Override
+    public void init(int quantity, int cash) {
+        long allocated = getAllocatedBytes();
+        bidder.init(quantity, cash);
+        metrics.addAllocatedBytes(getAllocatedBytes() - allocated);
+        metrics.addAuction();
+    }
+
+    @Override
+    public void init(int quantity, int cash, RandomGenerator random) {
+        long allocated = getAllocatedBytes();
+        bidder.init(quantity, cash, random);
+        metrics.addAllocatedBytes(getAllocatedBytes() - allocated);
+        metrics.addAuction();
+    }
+
+    @Override
+    public int placeBid() {
+        long allocated = getAllocatedBytes();
+        long start = System.nanoTime();
+        int bid = bidder.placeBid();
+        long end = System.nanoTime();
+        metrics.addAllocatedBytes(getAllocatedBytes() - allocated);
+        metrics.getPlaceBidLatency().record(end - start);
+        return bid;
+    }
+
+    @Override
+    public void bids(int own, int other) {
+        long allocated = getAllocatedBytes();
+        long start = System.nanoTime();
+        bidder.bids(own, other);
+        long end = System.nanoTime();
+        metrics.addAllocatedBytes(getAllocatedBytes() - allocated);
+        metrics.getBidsLatency().record(end - start);
+    }
+}
@@ -0,0 +1,252 @@
+package auction.arena;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Serves the live {@link ArenaProgress} of a running arena and JVM heap and GC statistics over HTTP,
+ * in the Prometheus text format, at {@code http://localhost:<port>/metrics}.
+ * <p>
+ * The server only listens on the loopback address, so the metrics are not visible from other machines.
+ * Every request reads the progress anew, the arena itself never waits for the server.
+ * Requests are handled on the single thread of the server, which stops when the server is closed.
+ */
+public class MetricsServer implements AutoCloseable {
+    /**
+     * The shortest window over which the auctions per second are measured, so frequent requests do not
+     * measure the rate over just a few units.
+     */
+    private final static long MIN_RATE_WINDOW_NANOS = 1_000_000_000L;
+
+    private final HttpServer server;
+    private final ArenaProgress progress;
+    private final String[] names;
+
+    // Finished auctions and elapsed time when the auctions per second were last measured, guarded by this
+    private long rateAuctions = 0;
+    private long rateNanos = 0;
+    private double auctionsPerSecond = 0.0;
+
+    private MetricsServer(HttpServer server, ArenaProgress progress, String[] names) {
+        this.server = server;
+        this.progress = progress;
+        this.names = names.clone();
+    }
+
+    /**
+     * Starts serving the metrics.
+     *
+     * @param port     the port on the loopback address, or 0 for any free port, see {@link #getPort()}
+     * @param progress the progress to serve, which the arena reports to, see {@link BidderArena#setProgress}
+     * @param names    the names of the bidders, used as labels
+     * @throws IOException if the port cannot be bound
+     */
+    public static MetricsServer start(int port, ArenaProgress progress, String[] names) throws IOException {
+        assert names.length == progress.getBidderCount() : "Every bidder needs a name";
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        MetricsServer metricsServer = new MetricsServer(server, progress, names);
+        server.createContext("/metrics", metricsServer::handle);
+        server.start();
+        return metricsServer;
+    }
+
+    /**
+     * @return the port the server listens on
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stops the server, without waiting for running requests.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestMethod().equals("GET")) {
+                exchange.getResponseHeaders().set("Allow", "GET");
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = format().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    /**
+     * @return all metrics in the Prometheus text format
+     */
+    String format() {
+        StringBuilder text = new StringBuilder();
+        long elapsedNanos = progress.getElapsedNanos();
+        long finishedAuctions = progress.getFinishedAuctions();
+
+        header(text, "arena_elapsed_seconds", "gauge", "Time since the progress was created.");
+        sample(text, "arena_elapsed_seconds", "", elapsedNanos / 1e9);
+        header(text, "arena_auctions_total", "counter", "Finished auctions, including counted auctions of deterministic pairings.");
+        sample(text, "arena_auctions_total", "", finishedAuctions);
+        header(text, "arena_auctions_planned", "gauge", "Auctions the runs are going to play, at most.");
+        sample(text, "arena_auctions_planned", "", progress.getPlannedAuctions());
+        header(text, "arena_auctions_per_second", "gauge", "Finished auctions per second since the previous measurement, at least one second ago.");
+        sample(text, "arena_auctions_per_second", "", getAuctionsPerSecond(finishedAuctions, elapsedNanos));
+        header(text, "arena_pairings_finished", "gauge", "Pairings whose auctions are all finished.");
+        sample(text, "arena_pairings_finished", "", progress.getFinishedPairings());
+        header(text, "arena_pairings_planned", "gauge", "Pairings the runs are going to play.");
+        sample(text, "arena_pairings_planned", "", progress.getPlannedPairings());
+
+        ArenaResults results = progress.getPartialResults();
+        header(text, "arena_wins", "gauge", "Auctions the bidder won against the opponent so far.");
+        for (int i = 0; i < names.length; i++) {
+            for (int j = 0; j < names.length; j++) {
+                if (i != j) {
+                    sample(text, "arena_wins", pairLabels(i, j), results.getWins(i, j));
+                }
+            }
+        }
+        header(text, "arena_ties", "gauge", "Auctions between the bidder and the opponent that ended in a tie so far.");
+        for (int i = 0; i < names.length; i++) {
+            for (int j = 0; j < names.length; j++) {
+                if (i != j) {
+                    sample(text, "arena_ties", pairLabels(i, j), results.getTies(i, j));
+                }
+            }
+        }
+        header(text, "arena_score", "gauge", "Score of the bidder against the opponent so far, a win counts 1 and a tie 0.5.");
+        for (int i = 0; i < names.length; i++) {
+            for (int j = 0; j < names.length; j++) {
+                if (i != j && results.getAuctions(i, j) > 0) {
+                    sample(text, "arena_score", pairLabels(i, j), results.getScore(i, j));
+                }
+            }
+        }
+
+        header(text, "arena_bidder_seconds_total", "counter", "Wall time of the finished units the bidder played in.");
+        for (int i = 0; i < names.length; i++) {
+            sample(text, "arena_bidder_seconds_total", bidderLabel(i), progress.getBidderNanos(i) / 1e9);
+        }
+        header(text, "arena_bidder_auctions_total", "counter", "Auctions the bidder played in the finished units.");
+        for (int i = 0; i < names.length; i++) {
+            sample(text, "arena_bidder_auctions_total", bidderLabel(i), progress.getBidderAuctions(i));
+        }
+        formatLatencies(text);
+
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        header(text, "jvm_memory_heap_used_bytes", "gauge", "Used heap memory.");
+        sample(text, "jvm_memory_heap_used_bytes", "", heap.getUsed());
+        header(text, "jvm_memory_heap_committed_bytes", "gauge", "Heap memory committed by the JVM.");
+        sample(text, "jvm_memory_heap_committed_bytes", "", heap.getCommitted());
+        header(text, "jvm_memory_heap_max_bytes", "gauge", "Largest heap, -1 if undefined.");
+        sample(text, "jvm_memory_heap_max_bytes", "", heap.getMax());
+        header(text, "jvm_gc_collections_total", "counter", "Collections of the garbage collector.");
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            sample(text, "jvm_gc_collections_total", label("gc", collector.getName()), collector.getCollectionCount());
+        }
+        header(text, "jvm_gc_collection_seconds_total", "counter", "Time spent in collections of the garbage collector.");
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            sample(text, "jvm_gc_collection_seconds_total", label("gc", collector.getName()), collector.getCollectionTime() / 1e3);
+        }
+        return text.toString();
+    }
+
+    /**
+     * Adds the latency of the bidder calls, if the arena measures the bidders.
+     */
+    private void formatLatencies(StringBuilder text) {
+        BidderMetrics[] metrics = new BidderMetrics[names.length];
+        boolean measured = false;
+        for (int i = 0; i < names.length; i++) {
+            metrics[i] = progress.getMetrics(i);
+            measured |= metrics[i] != null;
+        }
+        if (!measured) {
+            return;
+        }
+        header(text, "arena_bidder_place_bid_seconds", "summary", "Latency of placeBid of the bidder.");
+        for (int i = 0; i < names.length; i++) {
+            if (metrics[i] != null) {
+                summary(text, "arena_bidder_place_bid_seconds", i, metrics[i].getPlaceBidLatency());
+            }
+        }
+        header(text, "arena_bidder_bids_seconds", "summary", "Latency of bids of the bidder.");
+        for (int i = 0; i < names.length; i++) {
+            if (metrics[i] != null) {
+                summary(text, "arena_bidder_bids_seconds", i, metrics[i].getBidsLatency());
+            }
+        }
+    }
+
+    /**
+     * @return the finished auctions per second since the last measurement, which is repeated if it was less than
+     * {@link #MIN_RATE_WINDOW_NANOS} ago
+     */
+    private synchronized double getAuctionsPerSecond(long finishedAuctions, long elapsedNanos) {
+        if (elapsedNanos - rateNanos >= MIN_RATE_WINDOW_NANOS) {
+            auctionsPerSecond = (finishedAuctions - rateAuctions) * 1e9 / (elapsedNanos - rateNanos);
+            rateAuctions = finishedAuctions;
+            rateNanos = elapsedNanos;
+        }
+        return auctionsPerSecond;
+    }
+
+    private void summary(StringBuilder text, String name, int i, LatencyHistogram latency) {
+        for (double quantile : new double[]{0.5, 0.99, 0.999}) {
+            String labels = bidderLabel(i) + "," + label("quantile", Double.toString(quantile));
+            sample(text, name, labels, latency.getPercentile(quantile * 100) / 1e9);
+        }
+        sample(text, name + "_count", bidderLabel(i), latency.getTotalCount());
+    }
+
+    private String bidderLabel(int i) {
+        return label("bidder", names[i]);
+    }
+
+    private String pairLabels(int i, int j) {
+        return label("bidder", names[i]) + "," + label("opponent", names[j]);
+    }
+
+    private static void header(StringBuilder text, String name, String type, String help) {
+        text.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        text.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder text, String name, String labels, double value) {
+        text.append(name);
+        if (!labels.isEmpty()) {
+            text.append('{').append(labels).append('}');
+        }
+        text.append(' ');
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            text.append((long) value);
+        } else if (Double.isInfinite(value)) {
+            text.append(value > 0 ? "+Inf" : "-Inf");
+        } else {
+            text.append(value);
+        }
+        text.append('\n');
+    }
+
+    /**
+     * @return the label with its value escaped as the text format requires
+     */
+    private static String label(String name, String value) {
+        String escaped = value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+        return name + "=\"" + escaped + "\"";
+    }
+}
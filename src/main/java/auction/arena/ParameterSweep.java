@@ -0,0 +1,88 @@
+package auction.arena;
+
+import auction.Auction;
+import auction.Bidder;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+/**
+ * Evaluates many configurations of a bidder against a fixed set of opponents.
+ * <p>
+ * Every candidate plays every opponent the same number of auctions, half of them as bidder 1 and half as bidder 2.
+ * The random streams only depend on the opponent, the chunk and the seat, not on the candidate.
+ * So all candidates face exactly the same opponent randomness (common random numbers), and the difference between
+ * two candidates is caused by their configuration, not by luck. This makes small differences visible with far
+ * fewer auctions than independent runs.
+ * <p>
+ * The work is split into units of one candidate, one opponent and a chunk of auctions, which run in parallel.
+ */
+public class ParameterSweep {
+    private final List<Supplier<Bidder>> opponents;
+    private final int quantity;
+    private final int cash;
+    private final int repeats;
+    private final long seed;
+
+    /**
+     * Creates a new sweep.
+     *
+     * @param opponents factories for the opponents every candidate plays against
+     * @param quantity  the quantity auctioned in each auction
+     * @param cash      the cash each bidder starts with in each auction
+     * @param repeats   how many auctions each candidate plays against each opponent
+     * @param seed      the master seed, the same seed gives the same results
+     */
+    public ParameterSweep(List<Supplier<Bidder>> opponents, int quantity, int cash, int repeats, long seed) {
+        this.opponents = List.copyOf(opponents);
+        this.quantity = quantity;
+        this.cash = cash;
+        this.repeats = repeats;
+        this.seed = seed;
+
+        assert repeats >= 0 : "Repeats must not be negative";
+    }
+
+    /**
+     * Runs all candidates against all opponents on the common fork-join pool.
+     *
+     * @param candidates factories for the configurations to compare
+     * @return the results, see {@link SweepResults#getRanking()}
+     */
+    public SweepResults run(List<Supplier<Bidder>> candidates) {
+        int chunks = (repeats + BidderArena.DEFAULT_CHUNK_SIZE - 1) / BidderArena.DEFAULT_CHUNK_SIZE;
+        int unitsPerCandidate = opponents.size() * chunks;
+        int[][] unitResults = new int[candidates.size() * unitsPerCandidate][];
+        ForkJoinPool.commonPool().invoke(new IndexRange(0, unitResults.length, unit -> {
+            int candidate = unit / unitsPerCandidate;
+            int opponent = unit % unitsPerCandidate / chunks;
+            int chunk = unit % chunks;
+            unitResults[unit] = runChunk(candidates.get(candidate), candidate, opponent, chunk);
+        }));
+
+        SweepResults results = new SweepResults(candidates.size(), opponents.size());
+        for (int[] unitResult : unitResults) {
+            results.add(unitResult[0], unitResult[1], unitResult[2], unitResult[3], unitResult[4]);
+        }
+        return results;
+    }
+
+    /**
+     * Runs one chunk of the auctions between a candidate and an opponent, alternating the seats.
+     *
+     * @return A 5-element array: candidate, opponent, wins of the candidate, ties, wins of the opponent
+     */
+    private int[] runChunk(Supplier<Bidder> factory, int candidate, int opponent, int chunk) {
+        int auctions = Math.min(BidderArena.DEFAULT_CHUNK_SIZE, repeats - chunk * BidderArena.DEFAULT_CHUNK_SIZE);
+        Bidder candidateBidder = factory.get();
+        Bidder opponentBidder = opponents.get(opponent).get();
+        // The same streams for every candidate
+        SplittableRandom candidateRandom = new SplittableRandom(Seeds.derive(seed, opponent, chunk, 1));
+        SplittableRandom opponentRandom = new SplittableRandom(Seeds.derive(seed, opponent, chunk, 2));
+        Auction candidateFirst = new Auction(candidateBidder, opponentBidder, quantity, cash, candidateRandom, opponentRandom);
+        Auction opponentFirst = new Auction(opponentBidder, candidateBidder, quantity, cash, opponentRandom, candidateRandom);
+        return BidderArena.runAlternatingAuctions(candidateFirst, opponentFirst, auctions, candidate, opponent);
+    }
+}
@@ -0,0 +1,113 @@
+package auction.arena;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Glicko ratings of a pool of bidders.
+ * <p>
+ * Every bidder has a rating and a rating deviation, the uncertainty of the rating. Both start at the Glicko defaults
+ * of 1500 and 350. After every match, the ratings of both bidders are updated from the auction scores
+ * (win 1, tie 0.5, loss 0), and their deviations shrink. The strength of a bidder does not change over time,
+ * so deviations never grow again.
+ */
+public class Ratings {
+    public final static double INITIAL_RATING = 1500;
+    public final static double INITIAL_DEVIATION = 350;
+    private final static double Q = Math.log(10) / 400;
+
+    private final double[] rating;
+    private final double[] deviation;
+    private final int[] auctions;
+
+    public Ratings(int bidderCount) {
+        this.rating = new double[bidderCount];
+        this.deviation = new double[bidderCount];
+        this.auctions = new int[bidderCount];
+        Arrays.fill(rating, INITIAL_RATING);
+        Arrays.fill(deviation, INITIAL_DEVIATION);
+    }
+
+    public int getBidderCount() {
+        return rating.length;
+    }
+
+    public double getRating(int i) {
+        return rating[i];
+    }
+
+    public double getDeviation(int i) {
+        return deviation[i];
+    }
+
+    /**
+     * @return how many auctions bidder i played
+     */
+    public int getAuctions(int i) {
+        return auctions[i];
+    }
+
+    /**
+     * @return the largest rating deviation of all bidders
+     */
+    public double getMaxDeviation() {
+        double max = 0;
+        for (double d : deviation) {
+            max = Math.max(max, d);
+        }
+        return max;
+    }
+
+    /**
+     * @return the bidders, best rating first
+     */
+    public int[] getRanking() {
+        return IntStream.range(0, rating.length).boxed()
+                .sorted((a, b) -> Double.compare(rating[b], rating[a]))
+                .mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Updates the ratings of both bidders after a match.
+     * Both updates use the ratings from before the match, as in a Glicko rating period.
+     *
+     * @param i     the first bidder
+     * @param j     the second bidder
+     * @param iWins auctions won by bidder i
+     * @param ties  auctions that ended in a tie
+     * @param jWins auctions won by bidder j
+     */
+    public void update(int i, int j, int iWins, int ties, int jWins) {
+        int games = iWins + ties + jWins;
+        if (games == 0) {
+            return;
+        }
+        double ratingI = rating[i];
+        double deviationI = deviation[i];
+        update(i, rating[j], deviation[j], iWins + 0.5 * ties, games);
+        update(j, ratingI, deviationI, jWins + 0.5 * ties, games);
+    }
+
+    /**
+     * Glicko update of bidder i after a number of games against one opponent.
+     *
+     * @param score the sum of the scores of bidder i in these games
+     */
+    private void update(int i, double opponentRating, double opponentDeviation, double score, int games) {
+        double g = g(opponentDeviation);
+        double expected = 1 / (1 + Math.pow(10, -g * (rating[i] - opponentRating) / 400));
+        // 1 / d^2 of the Glicko paper
+        double information = Q * Q * games * g * g * expected * (1 - expected);
+        double precision = 1 / (deviation[i] * deviation[i]) + information;
+        rating[i] += Q / precision * g * (score - games * expected);
+        deviation[i] = Math.sqrt(1 / precision);
+        auctions[i] += games;
+    }
+
+    /**
+     * Reduces the weight of a game against an opponent with an uncertain rating.
+     */
+    private static double g(double deviation) {
+        return 1 / Math.sqrt(1 + 3 * Q * Q * deviation * deviation / (Math.PI * Math.PI));
+    }
+}
@@ -0,0 +1,135 @@
+package auction.arena;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+
+/**
+ * Stores the outcome counts of arena pairings on disk, so unchanged pairings do not have to be simulated again.
+ * <p>
+ * Entries are addressed by a hash of everything the outcome depends on: the fingerprint of the engine that runs
+ * the auctions and of both bidders (see {@link ClassFingerprint}), the configuration of both bidders
+ * (see {@link auction.Bidder#getConfiguration()}), the indices of both bidders, which their random streams are
+ * derived from, the quantity, the cash, the repeats, the chunk size and the seed.
+ * So changing the rules, the scoring or the seed derivation invalidates all entries.
+ * <p>
+ * The file is append-only. After an 8-byte header, each entry is 44 bytes:
+ * the 32-byte key, and the ints wins of the first bidder, ties, wins of the second bidder.
+ * An incomplete entry at the end, e.g. after a crash, is ignored.
+ */
+public class ResultCache implements AutoCloseable {
+    private final static int MAGIC = 0x41524343;
+    private final static int VERSION = 1;
+    private final static int KEY_SIZE = 32;
+    private final static int ENTRY_SIZE = KEY_SIZE + 12;
+
+    private final Map<String, int[]> entries = new HashMap<>();
+    private final FileChannel channel;
+
+    private ResultCache(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Opens a cache file, creating it if it does not exist.
+     */
+    public static ResultCache open(Path file) throws IOException {
+        boolean exists = Files.exists(file) && Files.size(file) > 0;
+        ResultCache cache = new ResultCache(FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND));
+        if (exists) {
+            cache.load(file);
+        } else {
+            cache.channel.write(ByteBuffer.allocate(8).putInt(MAGIC).putInt(VERSION).flip());
+        }
+        return cache;
+    }
+
+    private void load(Path file) throws IOException {
+        try (InputStream stream = Files.newInputStream(file);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(stream))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException(file + " is not a result cache of version " + VERSION);
+            }
+            byte[] key = new byte[KEY_SIZE];
+            while (true) {
+                try {
+                    in.readFully(key);
+                    int[] counts = {in.readInt(), in.readInt(), in.readInt()};
+                    entries.put(HexFormat.of().formatHex(key), counts);
+                } catch (EOFException e) {
+                    break; // End of file, or an incomplete last entry
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes the key of a pairing.
+     *
+     * @param engine         the fingerprint of the classes that run and score the auctions
+     * @param fingerprint1   the fingerprint of the first bidder
+     * @param configuration1 the configuration of the first bidder
+     * @param fingerprint2   the fingerprint of the second bidder
+     * @param configuration2 the configuration of the second bidder
+     * @param i              the index of the first bidder in the arena
+     * @param j              the index of the second bidder in the arena
+     * @param quantity       the quantity of each auction
+     * @param cash           the initial cash of each auction
+     * @param repeats        the number of auctions
+     * @param chunkSize      the number of auctions per random stream
+     * @param seed           the seed of the pairing
+     */
+    public static byte[] key(String engine, String fingerprint1, String configuration1, String fingerprint2,
+                             String configuration2, int i, int j, int quantity, int cash, int repeats, int chunkSize,
+                             long seed) {
+        MessageDigest digest = ClassFingerprint.newDigest();
+        // Configurations are free text, so their lengths keep them from running into the next field
+        String material = String.join("|", engine,
+                fingerprint1, configuration1.length() + ":" + configuration1,
+                fingerprint2, configuration2.length() + ":" + configuration2,
+                Integer.toString(i), Integer.toString(j), Integer.toString(quantity), Integer.toString(cash),
+                Integer.toString(repeats), Integer.toString(chunkSize), Long.toString(seed));
+        return digest.digest(material.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return A 3-element array: wins of the first bidder, ties, wins of the second bidder. Null if the key is unknown.
+     */
+    public int[] get(byte[] key) {
+        return entries.get(HexFormat.of().formatHex(key));
+    }
+
+    /**
+     * Stores the outcome counts of a pairing and appends them to the file.
+     */
+    public void put(byte[] key, int wins1, int ties, int wins2) throws IOException {
+        assert key.length == KEY_SIZE : "Keys must be created with ResultCache.key";
+        ByteBuffer entry = ByteBuffer.allocate(ENTRY_SIZE).put(key).putInt(wins1).putInt(ties).putInt(wins2).flip();
+        while (entry.hasRemaining()) {
+            channel.write(entry);
+        }
+        entries.put(HexFormat.of().formatHex(key), new int[]{wins1, ties, wins2});
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,33 @@
+package auction.arena;
+
+/**
+ * Derives independent seeds from a master seed, so every unit of work gets its own reproducible random stream,
+ * no matter which thread or process runs it.
+ */
+public class Seeds {
+    /**
+     * Derives a seed from a master seed and a key.
+     * Different keys give statistically independent seeds, the same key always gives the same seed.
+     *
+     * @param seed the master seed
+     * @param key  the key, e.g. the index of a unit of work
+     * @return the derived seed
+     */
+    public static long derive(long seed, long key) {
+        // SplitMix64 finalizer over the combined value, see java.util.SplittableRandom
+        long z = seed + (key + 1) * 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Derives a seed from a master seed and several keys, e.g. a pairing, a chunk and a seat.
+     */
+    public static long derive(long seed, long... keys) {
+        for (long key : keys) {
+            seed = derive(seed, key);
+        }
+        return seed;
+    }
+}
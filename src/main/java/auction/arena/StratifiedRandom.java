@@ -0,0 +1,127 @@
+package auction.arena;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Stratifies the first Gaussian draws of another random source across the blocks of a variance-reduced run,
+ * see {@link BidderArena#runVarianceReduced()}.
+ * <p>
+ * The standard normal distribution is split into as many equally likely strata as there are blocks.
+ * The k-th Gaussian draw of block b falls into stratum strata[k][b], where strata[k] is a permutation,
+ * so over all blocks the k-th draw hits every stratum exactly once instead of crowding some and missing others.
+ * Each draw is stratified on its own, which is Latin hypercube sampling. Later Gaussian draws and all other draws
+ * come from the source unchanged.
+ */
+class StratifiedRandom implements RandomGenerator {
+    private final RandomGenerator random;
+    private final int[][] strata;
+    private final int block;
+    // How many Gaussian draws were made so far
+    private int draws = 0;
+
+    /**
+     * @param random the source of the draws within a stratum and of all other draws
+     * @param strata strata[k][b] is the stratum of the k-th Gaussian draw of block b, see {@link #createStrata}
+     * @param block  the block this source is used for
+     */
+    StratifiedRandom(RandomGenerator random, int[][] strata, int block) {
+        this.random = random;
+        this.strata = strata;
+        this.block = block;
+    }
+
+    /**
+     * Creates the strata of the Gaussian draws of one bidder.
+     *
+     * @param draws  how many Gaussian draws of each block are stratified
+     * @param blocks the number of blocks, which is the number of strata
+     * @param seed   the seed of the permutations
+     * @return for every draw, a random permutation of the strata over the blocks
+     */
+    static int[][] createStrata(int draws, int blocks, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int[][] strata = new int[draws][blocks];
+        for (int[] permutation : strata) {
+            for (int b = 0; b < blocks; b++) {
+                int k = random.nextInt(b + 1);
+                permutation[b] = permutation[k];
+                permutation[k] = b;
+            }
+        }
+        return strata;
+    }
+
+    @Override
+    public long nextLong() {
+        return random.nextLong();
+    }
+
+    @Override
+    public int nextInt() {
+        return random.nextInt();
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+
+    @Override
+    public double nextDouble() {
+        return random.nextDouble();
+    }
+
+    @Override
+    public double nextGaussian() {
+        if (draws >= strata.length) {
+            return random.nextGaussian();
+        }
+        int[] permutation = strata[draws++];
+        double u = (permutation[block] + random.nextDouble()) / permutation.length;
+        // u is 0 only for the lowest stratum and a draw of 0, where the quantile would be -infinity
+        return inverseCdf(Math.max(u, 0x1.0p-53));
+    }
+
+    @Override
+    public double nextGaussian(double mean, double stddev) {
+        if (stddev < 0.0) {
+            throw new IllegalArgumentException("Standard deviation must be non-negative");
+        }
+        return mean + stddev * nextGaussian();
+    }
+
+    /**
+     * The quantile function of the standard normal distribution, with a relative error below 1.2e-9.
+     * Uses the rational approximation of Acklam, "An algorithm for computing the inverse normal
+     * cumulative distribution function" (2003).
+     *
+     * @param p a probability in (0, 1)
+     */
+    static double inverseCdf(double p) {
+        assert p > 0.0 && p < 1.0 : "Probability must be in (0, 1)";
+        if (p < 0.02425) {
+            double q = Math.sqrt(-2 * Math.log(p));
+            return tail(q);
+        } else if (p > 1 - 0.02425) {
+            double q = Math.sqrt(-2 * Math.log1p(-p));
+            return -tail(q);
+        }
+        double q = p - 0.5;
+        double r = q * q;
+        return (((((-3.969683028665376e+01 * r + 2.209460984245205e+02) * r - 2.759285104469687e+02) * r
+                + 1.383577518672690e+02) * r - 3.066479806614716e+01) * r + 2.506628277459239e+00) * q
+                / (((((-5.447609879822406e+01 * r + 1.615858368580409e+02) * r - 1.556989798598866e+02) * r
+                + 6.680131188771972e+01) * r - 1.328068155288572e+01) * r + 1);
+    }
+
+    /**
+     * @return the quantile of the lower tail, for q = sqrt(-2 ln p)
+     */
+    private static double tail(double q) {
+        return (((((-7.784894002430293e-03 * q - 3.223964580411365e-01) * q - 2.400758277161838e+00) * q
+                - 2.549732539343734e+00) * q + 4.374664141464968e+00) * q + 2.938163982698783e+00)
+                / ((((7.784695709041462e-03 * q + 3.224671290700398e-01) * q + 2.445134137142996e+00) * q
+                + 3.754408661907416e+00) * q + 1);
+    }
+}
@@ -0,0 +1,80 @@
+package auction.arena;
+
+import java.util.stream.IntStream;
+
+/**
+ * Outcome counts of a parameter sweep, for every candidate against every opponent.
+ * Scores are from the perspective of the candidate: a win counts 1, a tie 0.5, a loss 0.
+ */
+public class SweepResults {
+    // [candidate][opponent] outcome counts of the candidate
+    private final int[][] wins;
+    private final int[][] ties;
+    private final int[][] losses;
+
+    public SweepResults(int candidateCount, int opponentCount) {
+        this.wins = new int[candidateCount][opponentCount];
+        this.ties = new int[candidateCount][opponentCount];
+        this.losses = new int[candidateCount][opponentCount];
+    }
+
+    /**
+     * Adds the outcome counts of several auctions of a candidate against an opponent.
+     */
+    public void add(int candidate, int opponent, int candidateWins, int tieCount, int opponentWins) {
+        wins[candidate][opponent] += candidateWins;
+        ties[candidate][opponent] += tieCount;
+        losses[candidate][opponent] += opponentWins;
+    }
+
+    public int getCandidateCount() {
+        return wins.length;
+    }
+
+    public int getOpponentCount() {
+        return wins[0].length;
+    }
+
+    /**
+     * @return the score of the candidate against the opponent, between 0 and 1, or 0 if no auctions were played
+     */
+    public double getScore(int candidate, int opponent) {
+        int auctions = wins[candidate][opponent] + ties[candidate][opponent] + losses[candidate][opponent];
+        return auctions == 0 ? 0.0 : (wins[candidate][opponent] + 0.5 * ties[candidate][opponent]) / auctions;
+    }
+
+    /**
+     * @return the score of the candidate, the average of its scores against all opponents
+     */
+    public double getScore(int candidate) {
+        double sum = 0;
+        for (int opponent = 0; opponent < getOpponentCount(); opponent++) {
+            sum += getScore(candidate, opponent);
+        }
+        return sum / getOpponentCount();
+    }
+
+    /**
+     * Half the width of the 95% confidence interval of the score of the candidate against all opponents.
+     * <p>
+     * This is the uncertainty of the score on its own. Differences between candidates are known more precisely,
+     * because all candidates face the same random numbers.
+     */
+    public double getConfidenceHalfWidth(int candidate) {
+        double variance = 0;
+        for (int opponent = 0; opponent < getOpponentCount(); opponent++) {
+            double halfWidth = ArenaResults.getConfidenceHalfWidth(wins[candidate][opponent], ties[candidate][opponent], losses[candidate][opponent]);
+            variance += halfWidth * halfWidth;
+        }
+        return Math.sqrt(variance) / getOpponentCount();
+    }
+
+    /**
+     * @return the candidates, best score first
+     */
+    public int[] getRanking() {
+        return IntStream.range(0, getCandidateCount()).boxed()
+                .sorted((a, b) -> Double.compare(getScore(b), getScore(a)))
+                .mapToInt(Integer::intValue).toArray();
+    }
+}
@@ -0,0 +1,108 @@
+package auction.batch;
+
+import auction.AuctionResult;
+
+/**
+ * Runs a batch of auctions between two bidders in lockstep.
+ * <p>
+ * Instead of one {@link auction.BidderData} per bidder and auction, the quantity and cash of all auctions
+ * are stored in primitive arrays, see {@link BatchState}. Each round, both bidders place the bids of the
+ * whole batch, and the bids are resolved for all auctions in one loop.
+ * The rules are the same as in {@link auction.Auction}.
+ */
+public class BatchAuction {
+    private final BatchBidder bidder1;
+    private final BatchBidder bidder2;
+    // The total quantity of each auction. Must be positive and even.
+    private final int initialQuantity;
+    // The initial amount of money each bidder has in each auction. Must be positive.
+    private final int initialMoney;
+    private final int size;
+
+    private final BatchState bidder1State;
+    private final BatchState bidder2State;
+    private final int[] bids1;
+    private final int[] bids2;
+
+    /**
+     * Creates a new batch of auctions.
+     *
+     * @param bidder1      the first bidder
+     * @param bidder2      the second bidder
+     * @param quantity     the total quantity of each auction
+     * @param initialMoney the initial amount of money each bidder has in each auction
+     * @param size         the number of concurrent auctions
+     */
+    public BatchAuction(BatchBidder bidder1, BatchBidder bidder2, int quantity, int initialMoney, int size) {
+        this.bidder1 = bidder1;
+        this.bidder2 = bidder2;
+        this.initialQuantity = quantity;
+        this.initialMoney = initialMoney;
+        this.size = size;
+        this.bidder1State = new BatchState(size);
+        this.bidder2State = new BatchState(size);
+        this.bids1 = new int[size];
+        this.bids2 = new int[size];
+
+        assert quantity % 2 == 0 : "Initial quantity must be even";
+        assert quantity > 0 : "Initial quantity must be greater than zero";
+        assert initialMoney > 0 : "Initial money must be greater than zero";
+    }
+
+    /**
+     * Runs all auctions of the batch.
+     *
+     * @return How many auctions ended with each result, indexed by {@link AuctionResult#ordinal()}.
+     */
+    public int[] run() {
+        bidder1.init(initialQuantity, initialMoney, size);
+        bidder2.init(initialQuantity, initialMoney, size);
+        bidder1State.reset(initialMoney);
+        bidder2State.reset(initialMoney);
+
+        for (int round = 0; round < initialQuantity / 2; round++) {
+            runRound();
+        }
+        return countResults();
+    }
+
+    private void runRound() {
+        bidder1.placeBids(bidder1State, bidder2State, bids1);
+        bidder2.placeBids(bidder2State, bidder1State, bids2);
+
+        int[] quantity1 = bidder1State.getQuantity();
+        int[] quantity2 = bidder2State.getQuantity();
+        int[] cash1 = bidder1State.getCash();
+        int[] cash2 = bidder2State.getCash();
+        for (int k = 0; k < size; k++) {
+            int bid1 = bids1[k];
+            int bid2 = bids2[k];
+            assert bid1 >= 0 && bid2 >= 0 : "Bids must be non-negative";
+            cash1[k] -= bid1;
+            cash2[k] -= bid2;
+            assert cash1[k] >= 0 && cash2[k] >= 0 : "Bidder cannot overdraw their cash";
+            // 2 QU for the higher bid, 1 QU each in case of a tie, without branching
+            int won1 = Integer.signum(bid1 - bid2) + 1;
+            quantity1[k] += won1;
+            quantity2[k] += 2 - won1;
+        }
+
+        bidder1.bids(bids1, bids2);
+        bidder2.bids(bids2, bids1);
+    }
+
+    /**
+     * Counts the results of all auctions in the batch.
+     */
+    private int[] countResults() {
+        int[] quantity1 = bidder1State.getQuantity();
+        int[] quantity2 = bidder2State.getQuantity();
+        int[] cash1 = bidder1State.getCash();
+        int[] cash2 = bidder2State.getCash();
+        int[] results = new int[AuctionResult.values().length];
+        for (int k = 0; k < size; k++) {
+            results[AuctionResult.fromState(quantity1[k], cash1[k], quantity2[k], cash2[k]).ordinal()]++;
+        }
+        return results;
+    }
+}
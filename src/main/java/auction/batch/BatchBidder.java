@@ -0,0 +1,36 @@
+package auction.batch;
+
+/**
+ * A bidder that bids in a whole batch of concurrent auctions at once.
+ * <p>
+ * This is the batch counterpart of {@link auction.Bidder}. Implementing it is optional: a bidder opts in
+ * by implementing {@link BatchCapable}, bidders that only implement {@link auction.Bidder} run in a batch
+ * through {@link PerAuctionBatchBidder}.
+ */
+public interface BatchBidder {
+    /**
+     * Initializes the bidder for a batch of auctions.
+     *
+     * @param quantity the quantity of each auction
+     * @param cash     the cash limit of each auction
+     * @param size     the number of concurrent auctions
+     */
+    void init(int quantity, int cash, int size);
+
+    /**
+     * Places the next bid in every auction of the batch.
+     *
+     * @param own   the state of this bidder in each auction
+     * @param other the state of the other bidder in each auction
+     * @param out   receives the bids, out[k] is the bid in auction k
+     */
+    void placeBids(BatchState own, BatchState other, int[] out);
+
+    /**
+     * Shows the bids of the two bidders in every auction of the batch.
+     *
+     * @param own   the bids of this bidder
+     * @param other the bids of the other bidder
+     */
+    void bids(int[] own, int[] other);
+}
@@ -0,0 +1,22 @@
+package auction.batch;
+
+import auction.Bidder;
+
+import java.util.function.Supplier;
+
+public class BatchBidders {
+    /**
+     * Returns the batch version of a bidder.
+     * Bidders that do not implement {@link BatchCapable} run with one instance per auction, see {@link PerAuctionBatchBidder}.
+     *
+     * @param supplier creates the bidder
+     * @param seed     seed of the random sources, used if the bidder has no batch version
+     * @return a bidder for batches of auctions
+     */
+    public static BatchBidder forBidder(Supplier<Bidder> supplier, long seed) {
+        if (supplier.get() instanceof BatchCapable batchCapable) {
+            return batchCapable.createBatchBidder();
+        }
+        return new PerAuctionBatchBidder(supplier, seed);
+    }
+}
@@ -0,0 +1,14 @@
+package auction.batch;
+
+/**
+ * A {@link auction.Bidder} that has a batch version.
+ * <p>
+ * Bidders opt in to the batch engine by implementing this interface, see {@link BatchBidders#forBidder}.
+ * All other bidders run in batches through {@link PerAuctionBatchBidder}.
+ */
+public interface BatchCapable {
+    /**
+     * @return a new batch bidder that bids like this bidder in every auction of a batch
+     */
+    BatchBidder createBatchBidder();
+}
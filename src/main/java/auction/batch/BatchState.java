@@ -0,0 +1,46 @@
+package auction.batch;
+
+import java.util.Arrays;
+
+/**
+ * Quantity and cash of one bidder seat in a batch of concurrent auctions.
+ * The state of auction k is stored at index k of each array.
+ */
+public class BatchState {
+    private final int[] quantity;
+    private final int[] cash;
+
+    /**
+     * @param size the number of concurrent auctions
+     */
+    public BatchState(int size) {
+        this.quantity = new int[size];
+        this.cash = new int[size];
+    }
+
+    /**
+     * Resets every auction of the batch to no quantity and the given cash.
+     */
+    void reset(int initialCash) {
+        Arrays.fill(quantity, 0);
+        Arrays.fill(cash, initialCash);
+    }
+
+    public int size() {
+        return quantity.length;
+    }
+
+    /**
+     * The QU owned in each auction. Must not be modified by bidders.
+     */
+    public int[] getQuantity() {
+        return quantity;
+    }
+
+    /**
+     * The MU remaining in each auction. Must not be modified by bidders.
+     */
+    public int[] getCash() {
+        return cash;
+    }
+}
@@ -0,0 +1,56 @@
+package auction.batch;
+
+import auction.Bidder;
+
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs an ordinary {@link Bidder} in a batch, with one bidder instance per auction.
+ * This is the fallback for bidders that do not implement {@link BatchBidder}.
+ */
+public class PerAuctionBatchBidder implements BatchBidder {
+    private final Supplier<Bidder> supplier;
+    private final SplittableRandom random;
+    private Bidder[] bidders = new Bidder[0];
+    private SplittableRandom[] randoms = new SplittableRandom[0];
+
+    /**
+     * @param supplier creates the bidder instances
+     * @param seed     seed of the random sources of the bidders
+     */
+    public PerAuctionBatchBidder(Supplier<Bidder> supplier, long seed) {
+        this.supplier = supplier;
+        this.random = new SplittableRandom(seed);
+    }
+
+    @Override
+    public void init(int quantity, int cash, int size) {
+        // Reuse instances and random sources if the batch size did not change
+        if (bidders.length != size) {
+            bidders = new Bidder[size];
+            randoms = new SplittableRandom[size];
+            for (int k = 0; k < size; k++) {
+                bidders[k] = supplier.get();
+                randoms[k] = random.split();
+            }
+        }
+        for (int k = 0; k < size; k++) {
+            bidders[k].init(quantity, cash, randoms[k]);
+        }
+    }
+
+    @Override
+    public void placeBids(BatchState own, BatchState other, int[] out) {
+        for (int k = 0; k < bidders.length; k++) {
+            out[k] = bidders[k].placeBid();
+        }
+    }
+
+    @Override
+    public void bids(int[] own, int[] other) {
+        for (int k = 0; k < bidders.length; k++) {
+            bidders[k].bids(own[k], other[k]);
+        }
+    }
+}
@@ -2,6 +2,9 @@ package auction.bidders;
 
 import auction.Bidder;
 
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
 /**
  * Some common functionality for bidders.
  * Keeps track of quantity and cash.
@@ -31,6 +34,17 @@ public abstract class AbstractBidder implements Bidder {
      * The MU remaining for the other bidder.
      */
     protected int otherCash;
+    /**
+     * The random source of the current auction.
+     * Unseeded, unless the bidder was initialized with a random source.
+     */
+    protected RandomGenerator random = new SplittableRandom();
+
+    @Override
+    public void init(int quantity, int cash, RandomGenerator random) {
+        this.random = random;
+        init(quantity, cash);
+    }
 
     @Override
     public void init(int quantity, int cash) {
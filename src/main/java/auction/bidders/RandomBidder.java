@@ -1,7 +1,5 @@
 package auction.bidders;
 
-import java.util.Random;
-
 /**
  * Bids random amounts with random numbers.
  * Average bid is [cash / quantity * 2].
@@ -24,7 +22,7 @@ public class RandomBidder extends AbstractBidder {
     @Override
     public int placeBid() {
         // Generate a random bid around the average bid with some variation
-        int randomBid = (int) (new Random().nextGaussian(averageBid, standardDeviation));
+        int randomBid = (int) (random.nextGaussian(averageBid, standardDeviation));
         if (randomBid < 0) {
             randomBid = 0; // Ensure we always bid at least 0
         } else if (randomBid > ownCash) {
@@ -2,8 +2,6 @@ package auction.bidders;
 
 import auction.bidders.util.WinConditionStrategy;
 
-import java.util.Random;
-
 import static auction.bidders.util.Utils.isLastRound;
 
 /**
@@ -25,7 +23,7 @@ public class RandomBidder2 extends AbstractBidder {
         int averageBid = (ownCash / (startQuantity - ownQuantity - otherQuantity)) * 2;
         int standardDeviation = averageBid / 3; // 50% of the average bid
         // Generate a random bid around the average bid with some variation
-        int randomBid = (int) (new Random().nextGaussian(averageBid, standardDeviation));
+        int randomBid = (int) (random.nextGaussian(averageBid, standardDeviation));
         if (randomBid < 0) {
             randomBid = 0; // Ensure we always bid at least 0
         } else if (randomBid > ownCash) {
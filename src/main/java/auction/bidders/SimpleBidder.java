@@ -1,11 +1,14 @@
 package auction.bidders;
 
 import auction.Bidder;
+import auction.batch.BatchBidder;
+import auction.batch.BatchCapable;
+import auction.bidders.batch.SimpleBatchBidder;
 
 /**
  * There will be [quantity / 2] bidding rounds. Bid [cash / quantity * 2] in each round.
  */
-public class SimpleBidder implements Bidder {
+public class SimpleBidder implements Bidder, BatchCapable {
     private int bid;
 
     @Override
@@ -18,7 +21,17 @@ public class SimpleBidder implements Bidder {
         return bid;
     }
 
+    @Override
+    public boolean isDeterministic() {
+        return true;
+    }
+
     @Override
     public void bids(int own, int other) {
     }
+
+    @Override
+    public BatchBidder createBatchBidder() {
+        return new SimpleBatchBidder();
+    }
 }
@@ -1,10 +1,14 @@
 package auction.bidders;
 
+import auction.batch.BatchBidder;
+import auction.batch.BatchCapable;
+import auction.bidders.batch.SimpleHighBatchBidder;
+
 /**
  * Bidder that bids like SimpleBidder but higher
  * Tests AggressiveStrategy in MyBidder
  */
-public class SimpleHighBidder extends AbstractBidder {
+public class SimpleHighBidder extends AbstractBidder implements BatchCapable {
     private int bid;
 
     @Override
@@ -17,4 +21,14 @@ public class SimpleHighBidder extends AbstractBidder {
     public int placeBid() {
         return Math.min(bid, ownCash);
     }
+
+    @Override
+    public boolean isDeterministic() {
+        return true;
+    }
+
+    @Override
+    public BatchBidder createBatchBidder() {
+        return new SimpleHighBatchBidder();
+    }
 }
@@ -1,9 +1,13 @@
 package auction.bidders;
 
+import auction.batch.BatchBidder;
+import auction.batch.BatchCapable;
+import auction.bidders.batch.TitForTatBatchBidder;
+
 /**
  * Places the same bid + 1 as the other bidder in the previous round.
  */
-public class TitForTatBidder extends AbstractBidder {
+public class TitForTatBidder extends AbstractBidder implements BatchCapable {
 
     private int lastOtherBid = -1;
 
@@ -26,4 +30,14 @@ public class TitForTatBidder extends AbstractBidder {
         super.bids(own, other);
         this.lastOtherBid = other;
     }
+
+    @Override
+    public boolean isDeterministic() {
+        return true;
+    }
+
+    @Override
+    public BatchBidder createBatchBidder() {
+        return new TitForTatBatchBidder();
+    }
 }
@@ -0,0 +1,28 @@
+package auction.bidders.batch;
+
+import auction.batch.BatchBidder;
+import auction.batch.BatchState;
+import auction.bidders.SimpleBidder;
+
+import java.util.Arrays;
+
+/**
+ * Batch version of {@link SimpleBidder}: bids [cash / quantity * 2] in every round of every auction.
+ */
+public class SimpleBatchBidder implements BatchBidder {
+    private int bid;
+
+    @Override
+    public void init(int quantity, int cash, int size) {
+        this.bid = (cash / quantity) * 2;
+    }
+
+    @Override
+    public void placeBids(BatchState own, BatchState other, int[] out) {
+        Arrays.fill(out, bid);
+    }
+
+    @Override
+    public void bids(int[] own, int[] other) {
+    }
+}
@@ -0,0 +1,29 @@
+package auction.bidders.batch;
+
+import auction.batch.BatchBidder;
+import auction.batch.BatchState;
+import auction.bidders.SimpleHighBidder;
+
+/**
+ * Batch version of {@link SimpleHighBidder}: bids [cash / quantity * 3], or all remaining cash if that is less.
+ */
+public class SimpleHighBatchBidder implements BatchBidder {
+    private int bid;
+
+    @Override
+    public void init(int quantity, int cash, int size) {
+        this.bid = (cash / quantity) * 3;
+    }
+
+    @Override
+    public void placeBids(BatchState own, BatchState other, int[] out) {
+        int[] ownCash = own.getCash();
+        for (int k = 0; k < out.length; k++) {
+            out[k] = Math.min(bid, ownCash[k]);
+        }
+    }
+
+    @Override
+    public void bids(int[] own, int[] other) {
+    }
+}
@@ -0,0 +1,37 @@
+package auction.bidders.batch;
+
+import auction.batch.BatchBidder;
+import auction.batch.BatchState;
+import auction.bidders.TitForTatBidder;
+
+import java.util.Arrays;
+
+/**
+ * Batch version of {@link TitForTatBidder}: places the same bid + 1 as the other bidder in the previous round.
+ */
+public class TitForTatBatchBidder implements BatchBidder {
+    private int[] lastOtherBids = new int[0];
+
+    @Override
+    public void init(int quantity, int cash, int size) {
+        if (lastOtherBids.length != size) {
+            lastOtherBids = new int[size];
+        }
+        // Initialize to -1 in first round. This way, the first bid will be 0.
+        Arrays.fill(lastOtherBids, -1);
+    }
+
+    @Override
+    public void placeBids(BatchState own, BatchState other, int[] out) {
+        int[] ownCash = own.getCash();
+        for (int k = 0; k < out.length; k++) {
+            // If we can't afford our usual bid, bid all cash that is left.
+            out[k] = Math.min(lastOtherBids[k] + 1, ownCash[k]);
+        }
+    }
+
+    @Override
+    public void bids(int[] own, int[] other) {
+        System.arraycopy(other, 0, lastOtherBids, 0, lastOtherBids.length);
+    }
+}
@@ -0,0 +1,167 @@
+package auction.bidders.mybidder;
+
+/**
+ * Categorizes the opponent with a naive Bayes model of its bids, as an alternative to the thresholds of
+ * {@link OpponentStrategyCategorizer}.
+ * <p>
+ * For every strategy except {@link OpponentStrategy#UNKNOWN}, this keeps the log-likelihood of all bids of the
+ * opponent so far, and adds the log-likelihood of the new bid every round. Three features of a bid are modelled:
+ * <ul>
+ *     <li>Whether it is zero, low or high, above 2 * cash / quantity. A simple aggressive opponent mostly bids high,
+ *     a simple conservative opponent mostly low, and a random or tit-for-tat opponent either.
+ *     Only random and tit-for-tat opponents bid zero now and then.</li>
+ *     <li>Whether it is exactly what tit-for-tat would bid, our previous bid + 1. A tit-for-tat opponent mostly does,
+ *     any other opponent only by chance. Rounds in which this is more than the opponent's cash are skipped,
+ *     because then every opponent that bids all its cash would match.</li>
+ *     <li>Whether it repeats the previous bid of the opponent. A simple opponent mostly does,
+ *     any other opponent only by chance.</li>
+ * </ul>
+ * Rounds in which the opponent has no cash left say nothing about it and are skipped as well.
+ * All strategies are equally likely a priori. Updating, the posterior and the MAP strategy take time proportional
+ * to the number of strategies and do not allocate.
+ */
+public class BayesianOpponentClassifier implements OpponentClassifier {
+    // The strategies that are hypotheses, in the order ties are broken
+    private final static OpponentStrategy[] HYPOTHESES = {
+            OpponentStrategy.SIMPLE_AGGRESSIVE,
+            OpponentStrategy.SIMPLE_CONSERVATIVE,
+            OpponentStrategy.TIT_FOR_TAT,
+            OpponentStrategy.RANDOM,
+    };
+    // Probabilities of a zero, low and high bid under each hypothesis, in the order of HYPOTHESES
+    private final static double[][] BID_CLASS_PROBABILITIES = {
+            {0.02, 0.08, 0.9},
+            {0.02, 0.88, 0.1},
+            {0.1, 0.45, 0.45},
+            {0.1, 0.45, 0.45},
+    };
+    // Probability that a tit-for-tat opponent bids exactly what tit-for-tat predicts
+    private final static double TIT_FOR_TAT_MATCH_PROBABILITY = 0.8;
+    // Probability that a simple opponent repeats its previous bid
+    private final static double SIMPLE_REPEAT_PROBABILITY = 0.8;
+    // The MAP strategy is only returned once it is more likely than all others together
+    private final static double MIN_POSTERIOR = 0.5;
+
+    private final BidHistory history;
+
+    // Bids of the opponent above this are high
+    private int highThreshold;
+    // Cash of the opponent, which caps the bid of tit-for-tat
+    private int otherCash;
+    // Log-likelihoods of a zero, low and high bid under each hypothesis, in the order of HYPOTHESES
+    private final double[][] logBidClass = new double[HYPOTHESES.length][3];
+    // Log-likelihoods of a tit-for-tat match and mismatch under each hypothesis, in the order of HYPOTHESES
+    private final double[] logMatch = new double[HYPOTHESES.length];
+    private final double[] logMismatch = new double[HYPOTHESES.length];
+    // Log-likelihoods of a repeated and a changed bid under each hypothesis, in the order of HYPOTHESES
+    private final double[] logRepeat = new double[HYPOTHESES.length];
+    private final double[] logChange = new double[HYPOTHESES.length];
+    // Log-likelihood of all bids so far under each hypothesis, in the order of HYPOTHESES
+    private final double[] logLikelihoods = new double[HYPOTHESES.length];
+
+    /**
+     * @param quantity the quantity auctioned
+     * @param cash     the cash each bidder starts with
+     * @param history  the bids so far, which is read but not written by the classifier
+     */
+    public BayesianOpponentClassifier(int quantity, int cash, BidHistory history) {
+        this.history = history;
+        for (int h = 0; h < HYPOTHESES.length; h++) {
+            for (int bidClass = 0; bidClass < 3; bidClass++) {
+                logBidClass[h][bidClass] = Math.log(BID_CLASS_PROBABILITIES[h][bidClass]);
+            }
+        }
+        reset(quantity, cash);
+    }
+
+    @Override
+    public void reset(int quantity, int cash) {
+        this.highThreshold = (int) (2L * cash / quantity);
+        this.otherCash = cash;
+        // Any other opponent bids between 0 and twice the average bid, and matches by chance
+        double chanceMatch = 1.0 / (2.0 * highThreshold + 2.0);
+        for (int h = 0; h < HYPOTHESES.length; h++) {
+            double match = HYPOTHESES[h] == OpponentStrategy.TIT_FOR_TAT ? TIT_FOR_TAT_MATCH_PROBABILITY : chanceMatch;
+            logMatch[h] = Math.log(match);
+            logMismatch[h] = Math.log(1.0 - match);
+            boolean simple = HYPOTHESES[h] == OpponentStrategy.SIMPLE_AGGRESSIVE
+                    || HYPOTHESES[h] == OpponentStrategy.SIMPLE_CONSERVATIVE;
+            double repeat = simple ? SIMPLE_REPEAT_PROBABILITY : chanceMatch;
+            logRepeat[h] = Math.log(repeat);
+            logChange[h] = Math.log(1.0 - repeat);
+            logLikelihoods[h] = 0.0;
+        }
+    }
+
+    @Override
+    public void bids(int own, int other) {
+        int rounds = history.size();
+        assert rounds > 0 && history.getLastOther() == other : "Bids must be added to the history first";
+        if (otherCash == 0) {
+            return;
+        }
+        int bidClass = other == 0 ? 0 : other <= highThreshold ? 1 : 2;
+        // Both other features need the bids of the previous round
+        boolean previous = rounds > 1;
+        int titForTatBid = previous ? history.getOwn(rounds - 2) + 1 : 0;
+        boolean predicted = previous && titForTatBid < otherCash;
+        boolean match = other == titForTatBid;
+        boolean repeat = previous && other == history.getOther(rounds - 2);
+        for (int h = 0; h < HYPOTHESES.length; h++) {
+            logLikelihoods[h] += logBidClass[h][bidClass];
+            if (predicted) {
+                logLikelihoods[h] += match ? logMatch[h] : logMismatch[h];
+            }
+            if (previous) {
+                logLikelihoods[h] += repeat ? logRepeat[h] : logChange[h];
+            }
+        }
+        otherCash -= other;
+    }
+
+    /**
+     * The most probable strategy, once its posterior is above 1/2.
+     * Before, the strategy bidders may lack the bids they need, see {@link OpponentStrategyBidder}.
+     *
+     * @return The categorized strategy of the opponent, or {@link OpponentStrategy#UNKNOWN}.
+     */
+    @Override
+    public OpponentStrategy categorize() {
+        if (history.size() == 0) {
+            return OpponentStrategy.UNKNOWN;
+        }
+        int best = 0;
+        for (int h = 1; h < HYPOTHESES.length; h++) {
+            if (logLikelihoods[h] > logLikelihoods[best]) {
+                best = h;
+            }
+        }
+        return getPosterior(best) > MIN_POSTERIOR ? HYPOTHESES[best] : OpponentStrategy.UNKNOWN;
+    }
+
+    /**
+     * @return the posterior probability that the opponent uses the given strategy, 0 for
+     * {@link OpponentStrategy#UNKNOWN}
+     */
+    public double getPosterior(OpponentStrategy strategy) {
+        for (int h = 0; h < HYPOTHESES.length; h++) {
+            if (HYPOTHESES[h] == strategy) {
+                return getPosterior(h);
+            }
+        }
+        return 0.0;
+    }
+
+    private double getPosterior(int hypothesis) {
+        // Relative to the largest log-likelihood, so exp does not underflow in long auctions
+        double max = logLikelihoods[0];
+        for (int h = 1; h < HYPOTHESES.length; h++) {
+            max = Math.max(max, logLikelihoods[h]);
+        }
+        double sum = 0.0;
+        for (int h = 0; h < HYPOTHESES.length; h++) {
+            sum += Math.exp(logLikelihoods[h] - max);
+        }
+        return Math.exp(logLikelihoods[hypothesis] - max) / sum;
+    }
+}
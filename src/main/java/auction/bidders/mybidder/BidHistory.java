@@ -0,0 +1,98 @@
+package auction.bidders.mybidder;
+
+import java.util.Arrays;
+
+/**
+ * The bids of both bidders of all rounds so far, stored as primitive arrays.
+ * <p>
+ * One history is owned by {@link MyBidder} and read by its components.
+ * It can be reset and reused across auctions, once it has grown to the number of rounds of an auction,
+ * adding bids does not allocate anymore.
+ */
+public class BidHistory {
+    private int[] ownBids;
+    private int[] otherBids;
+    private int size = 0;
+
+    public BidHistory() {
+        this(16);
+    }
+
+    /**
+     * @param capacity the number of rounds that can be stored before the history has to grow
+     */
+    public BidHistory(int capacity) {
+        this.ownBids = new int[Math.max(capacity, 1)];
+        this.otherBids = new int[Math.max(capacity, 1)];
+    }
+
+    /**
+     * Records the bids of a round.
+     *
+     * @param own   the bid of this bidder
+     * @param other the bid of the other bidder
+     */
+    public void add(int own, int other) {
+        if (size == ownBids.length) {
+            ensureCapacity(2 * size);
+        }
+        ownBids[size] = own;
+        otherBids[size] = other;
+        size++;
+    }
+
+    /**
+     * Clears the history, keeping the storage.
+     */
+    public void reset() {
+        size = 0;
+    }
+
+    /**
+     * Clears the history and makes sure it can store the given number of rounds without growing.
+     */
+    public void reset(int capacity) {
+        reset();
+        ensureCapacity(capacity);
+    }
+
+    /**
+     * @return the number of recorded rounds
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param round the round, starting at 0
+     * @return the bid of this bidder in the given round
+     */
+    public int getOwn(int round) {
+        assert round < size : "Round " + round + " was not recorded yet";
+        return ownBids[round];
+    }
+
+    /**
+     * @param round the round, starting at 0
+     * @return the bid of the other bidder in the given round
+     */
+    public int getOther(int round) {
+        assert round < size : "Round " + round + " was not recorded yet";
+        return otherBids[round];
+    }
+
+    public int getLastOwn() {
+        return getOwn(size - 1);
+    }
+
+    public int getLastOther() {
+        return getOther(size - 1);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > ownBids.length) {
+            ownBids = Arrays.copyOf(ownBids, capacity);
+            otherBids = Arrays.copyOf(otherBids, capacity);
+        }
+    }
+}
@@ -2,15 +2,77 @@ package auction.bidders.mybidder;
 
 import auction.bidders.AbstractBidder;
 import auction.bidders.util.WinConditionStrategy;
+import auction.jfr.CategorizationEvent;
 
 public class MyBidder extends AbstractBidder {
-    OpponentStrategyCategorizer categorizer;
+    /**
+     * How MyBidder categorizes its opponent.
+     */
+    public enum Classifier {
+        /**
+         * {@link OpponentStrategyCategorizer}, with the thresholds of the parameters.
+         */
+        THRESHOLDS,
+        /**
+         * {@link BayesianOpponentClassifier}, which ignores the thresholds of the parameters.
+         */
+        BAYESIAN,
+    }
+
+    private final MyBidderParameters parameters;
+    private final Classifier classifierType;
+    // The bids of this auction, shared by the classifier and the bidder
+    final BidHistory history = new BidHistory();
+    OpponentClassifier classifier;
     OpponentStrategyBidder bidder;
+
+    public MyBidder() {
+        this(MyBidderParameters.DEFAULT);
+    }
+
+    /**
+     * @param parameters the thresholds and multipliers of the strategies
+     */
+    public MyBidder(MyBidderParameters parameters) {
+        this(parameters, Classifier.THRESHOLDS);
+    }
+
+    /**
+     * @param parameters the thresholds and multipliers of the strategies
+     * @param classifier how the opponent is categorized
+     */
+    public MyBidder(MyBidderParameters parameters, Classifier classifier) {
+        this.parameters = parameters;
+        this.classifierType = classifier;
+    }
+
+    /**
+     * @return the classifier and the exact value of every parameter
+     */
+    @Override
+    public String getConfiguration() {
+        StringBuilder configuration = new StringBuilder(classifierType.name());
+        for (MyBidderParameters.Parameter parameter : MyBidderParameters.Parameter.values()) {
+            configuration.append(',').append(parameters.get(parameter));
+        }
+        return configuration.toString();
+    }
+
     @Override
     public void init(int quantity, int cash) {
         super.init(quantity, cash);
-        categorizer = new OpponentStrategyCategorizer(quantity, cash);
-        bidder = new OpponentStrategyBidder(quantity, cash);
+        history.reset(quantity / 2);
+        // Created once and reset for every further auction, so repeated auctions do not allocate
+        if (classifier == null) {
+            classifier = switch (classifierType) {
+                case THRESHOLDS -> new OpponentStrategyCategorizer(quantity, cash, history, parameters);
+                case BAYESIAN -> new BayesianOpponentClassifier(quantity, cash, history);
+            };
+            bidder = new OpponentStrategyBidder(quantity, cash, history, random, parameters);
+        } else {
+            classifier.reset(quantity, cash);
+            bidder.reset(quantity, cash, random);
+        }
     }
 
     @Override
@@ -21,14 +83,32 @@ public class MyBidder extends AbstractBidder {
         }
 
         // Categorize the opponent's strategy
-        OpponentStrategy strategy = categorizer.categorize();
+        OpponentStrategy strategy = CategorizationEvent.isTypeEnabled() ? categorizeRecorded() : classifier.categorize();
         return bidder.getNextBid(strategy);
     }
 
+    /**
+     * Categorizes the opponent's strategy and records it as a {@link CategorizationEvent}.
+     */
+    private OpponentStrategy categorizeRecorded() {
+        CategorizationEvent event = new CategorizationEvent();
+        event.begin();
+        OpponentStrategy strategy = classifier.categorize();
+        event.end();
+        if (event.shouldCommit()) {
+            event.classifier = classifier.getClass();
+            event.round = history.size();
+            event.strategy = strategy.name();
+            event.commit();
+        }
+        return strategy;
+    }
+
     @Override
     public void bids(int own, int other) {
         super.bids(own, other);
-        categorizer.bids(own, other);
+        history.add(own, other);
+        classifier.bids(own, other);
         bidder.bids(own, other);
     }
 }
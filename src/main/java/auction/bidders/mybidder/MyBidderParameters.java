@@ -0,0 +1,185 @@
+package auction.bidders.mybidder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * The tunable thresholds and multipliers of {@link MyBidder}.
+ * <p>
+ * Parameters are immutable. {@link #DEFAULT} holds the hand-tuned values, other configurations are derived from it
+ * with {@link #with}, or generated for a sweep with {@link #grid} and {@link #random}.
+ */
+public class MyBidderParameters {
+    /**
+     * The parameters, with their default values.
+     */
+    public enum Parameter {
+        /**
+         * Minimum tit-for-tat match at which the opponent is categorized as tit-for-tat.
+         */
+        TIT_FOR_TAT_THRESHOLD(0.8),
+        /**
+         * Minimum share of high bids at which the opponent is categorized as simple aggressive.
+         */
+        SIMPLE_AGGRESSIVE_THRESHOLD(0.8),
+        /**
+         * Minimum share of low bids at which the opponent is categorized as simple conservative.
+         */
+        SIMPLE_CONSERVATIVE_THRESHOLD(0.8),
+        /**
+         * Against tit-for-tat: factor on the own last bid plus the average offset.
+         */
+        TIT_FOR_TAT_MULTIPLIER(1.2),
+        /**
+         * Against simple aggressive: factor on the average high bid, to outbid it.
+         */
+        HIGH_BID_MULTIPLIER(1.2),
+        /**
+         * Against simple aggressive with very high bids: factor on the average low bid, to win the cheap rounds.
+         */
+        LOW_BID_MULTIPLIER(1.2),
+        /**
+         * Against simple aggressive that runs out of cash: factor on the average of its last two bids.
+         */
+        LAST_BIDS_MULTIPLIER(1.2),
+        /**
+         * Against simple conservative: factor on the average low bid.
+         */
+        CONSERVATIVE_MULTIPLIER(1.2),
+        /**
+         * Against random: factor on the average bid.
+         */
+        RANDOM_MULTIPLIER(1.5),
+        /**
+         * Against simple aggressive with very high bids: it bleeds out while its cash is above initial cash / this.
+         */
+        BLEED_OUT_CASH_DIVISOR(2),
+        /**
+         * Unknown opponent: the bid is drawn with a standard deviation of the medium bid / this.
+         */
+        UNKNOWN_DEVIATION_DIVISOR(3);
+
+        private final double defaultValue;
+
+        Parameter(double defaultValue) {
+            this.defaultValue = defaultValue;
+        }
+
+        public double getDefaultValue() {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * The hand-tuned parameters.
+     */
+    public final static MyBidderParameters DEFAULT = createDefault();
+
+    private final double[] values;
+
+    private MyBidderParameters(double[] values) {
+        this.values = values;
+    }
+
+    private static MyBidderParameters createDefault() {
+        double[] values = new double[Parameter.values().length];
+        for (Parameter parameter : Parameter.values()) {
+            values[parameter.ordinal()] = parameter.getDefaultValue();
+        }
+        return new MyBidderParameters(values);
+    }
+
+    public double get(Parameter parameter) {
+        return values[parameter.ordinal()];
+    }
+
+    /**
+     * @return a copy of these parameters, with one parameter changed
+     */
+    public MyBidderParameters with(Parameter parameter, double value) {
+        double[] copy = values.clone();
+        copy[parameter.ordinal()] = value;
+        return new MyBidderParameters(copy);
+    }
+
+    /**
+     * Creates all combinations of the given values, all other parameters keep their value in the base parameters.
+     *
+     * @param base   the parameters to start from
+     * @param values the values to try for each parameter that is swept
+     * @return the configurations, the swept parameter that comes last in {@link Parameter} changes fastest
+     */
+    public static List<MyBidderParameters> grid(MyBidderParameters base, Map<Parameter, double[]> values) {
+        List<MyBidderParameters> configurations = List.of(base);
+        // In the order of the parameters, not of the map, so the order of the configurations is always the same
+        for (Parameter parameter : Parameter.values()) {
+            if (!values.containsKey(parameter)) {
+                continue;
+            }
+            List<MyBidderParameters> expanded = new ArrayList<>();
+            for (MyBidderParameters configuration : configurations) {
+                for (double value : values.get(parameter)) {
+                    expanded.add(configuration.with(parameter, value));
+                }
+            }
+            configurations = expanded;
+        }
+        return configurations;
+    }
+
+    /**
+     * Creates random configurations, each swept parameter is drawn uniformly from its range.
+     * All other parameters keep their value in the base parameters.
+     *
+     * @param base   the parameters to start from
+     * @param ranges the range {min, max} of each parameter that is swept
+     * @param count  how many configurations to create
+     * @param seed   the seed, the same seed gives the same configurations
+     */
+    public static List<MyBidderParameters> random(MyBidderParameters base, Map<Parameter, double[]> ranges, int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<MyBidderParameters> configurations = new ArrayList<>();
+        for (int k = 0; k < count; k++) {
+            double[] copy = base.values.clone();
+            // In the order of the parameters, not of the map, so the same seed always gives the same values
+            for (Parameter parameter : Parameter.values()) {
+                double[] range = ranges.get(parameter);
+                if (range != null) {
+                    copy[parameter.ordinal()] = range[0] + random.nextDouble() * (range[1] - range[0]);
+                }
+            }
+            configurations.add(new MyBidderParameters(copy));
+        }
+        return configurations;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof MyBidderParameters other && Arrays.equals(values, other.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(values);
+    }
+
+    /**
+     * @return the parameters that differ from the defaults, e.g. "TIT_FOR_TAT_THRESHOLD=0.75", or "DEFAULT"
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (Parameter parameter : Parameter.values()) {
+            if (get(parameter) != parameter.getDefaultValue()) {
+                if (!builder.isEmpty()) {
+                    builder.append(", ");
+                }
+                builder.append(String.format("%s=%.3f", parameter, get(parameter)));
+            }
+        }
+        return builder.isEmpty() ? "DEFAULT" : builder.toString();
+    }
+}
@@ -0,0 +1,32 @@
+package auction.bidders.mybidder;
+
+/**
+ * Categorizes the strategy of the opponent from the bids so far, for {@link OpponentStrategyBidder}.
+ * <p>
+ * Implementations read the shared {@link BidHistory} and keep running statistics,
+ * so they can be reset and reused across auctions without allocating.
+ */
+public interface OpponentClassifier {
+    /**
+     * Resets the classifier for a new auction.
+     * The history must be reset separately.
+     *
+     * @param quantity the quantity auctioned
+     * @param cash     the cash each bidder starts with
+     */
+    void reset(int quantity, int cash);
+
+    /**
+     * Records a bid made by the bidder and the opponent.
+     * Must be called after the bids were added to the history.
+     *
+     * @param own   The bid made by this bidder.
+     * @param other The bid made by the opponent.
+     */
+    void bids(int own, int other);
+
+    /**
+     * @return The categorized strategy of the opponent.
+     */
+    OpponentStrategy categorize();
+}
@@ -2,41 +2,119 @@ package auction.bidders.mybidder;
 
 import auction.bidders.util.Utils;
 
-import java.util.Iterator;
-import java.util.LinkedList;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 public class OpponentStrategyBidder {
-    private final LinkedList<Integer> ownBids;
-    private final LinkedList<Integer> otherBids;
+    private final BidHistory history;
+    private RandomGenerator random;
 
-    private final int initialQuantity;
-    private final int initialCash;
+    private int initialQuantity;
+    private int initialCash;
 
     private int ownCash;
 
     private int otherCash;
 
-    public OpponentStrategyBidder(int quantity, int cash) {
+    // Bids of the opponent at or above this are high, see getNextSimpleAggressiveBid()
+    private int highThreshold;
+    // Running sums over the opponent's bids, so no strategy has to scan the history.
+    // Longs, because they grow with the number of rounds.
+    private long otherBidSum;
+    private long highBidSum;
+    private int highBidCount;
+    // Sum of the opponent's bids at or below the high threshold
+    private long notHighBidSum;
+    // Sum of how far the opponent's bid is from our bid of the previous round
+    private long titForTatOffsetSum;
+
+    // Multipliers and divisors of the strategies, see MyBidderParameters
+    private final double titForTatMultiplier;
+    private final double highBidMultiplier;
+    private final double lowBidMultiplier;
+    private final double lastBidsMultiplier;
+    private final double conservativeMultiplier;
+    private final double randomMultiplier;
+    private final double bleedOutCashDivisor;
+    private final double unknownDeviationDivisor;
+
+    /**
+     * Creates a bidder with the default parameters.
+     *
+     * @param quantity the quantity auctioned
+     * @param cash     the cash each bidder starts with
+     * @param history  the bids so far, which is read but not written by this bidder
+     * @param random   the random source of the auction
+     */
+    public OpponentStrategyBidder(int quantity, int cash, BidHistory history, RandomGenerator random) {
+        this(quantity, cash, history, random, MyBidderParameters.DEFAULT);
+    }
+
+    /**
+     * @param quantity   the quantity auctioned
+     * @param cash       the cash each bidder starts with
+     * @param history    the bids so far, which is read but not written by this bidder
+     * @param random     the random source of the auction
+     * @param parameters the multipliers and divisors of the strategies
+     */
+    public OpponentStrategyBidder(int quantity, int cash, BidHistory history, RandomGenerator random, MyBidderParameters parameters) {
+        this.titForTatMultiplier = parameters.get(MyBidderParameters.Parameter.TIT_FOR_TAT_MULTIPLIER);
+        this.highBidMultiplier = parameters.get(MyBidderParameters.Parameter.HIGH_BID_MULTIPLIER);
+        this.lowBidMultiplier = parameters.get(MyBidderParameters.Parameter.LOW_BID_MULTIPLIER);
+        this.lastBidsMultiplier = parameters.get(MyBidderParameters.Parameter.LAST_BIDS_MULTIPLIER);
+        this.conservativeMultiplier = parameters.get(MyBidderParameters.Parameter.CONSERVATIVE_MULTIPLIER);
+        this.randomMultiplier = parameters.get(MyBidderParameters.Parameter.RANDOM_MULTIPLIER);
+        this.bleedOutCashDivisor = parameters.get(MyBidderParameters.Parameter.BLEED_OUT_CASH_DIVISOR);
+        this.unknownDeviationDivisor = parameters.get(MyBidderParameters.Parameter.UNKNOWN_DEVIATION_DIVISOR);
+        this.history = history;
+        reset(quantity, cash, random);
+    }
+
+    /**
+     * Resets the bidder for a new auction, so it can be reused without allocating.
+     * The history must be reset separately.
+     *
+     * @param quantity the quantity auctioned
+     * @param cash     the cash each bidder starts with
+     * @param random   the random source of the auction
+     */
+    public void reset(int quantity, int cash, RandomGenerator random) {
         this.initialQuantity = quantity;
         this.initialCash = cash;
-        this.ownBids = new LinkedList<>();
-        this.otherBids = new LinkedList<>();
-        this.ownCash = initialCash;
-        this.otherCash = initialCash;
+        this.random = random;
+        this.ownCash = cash;
+        this.otherCash = cash;
+        this.highThreshold = (int) (2L * cash / quantity);
+        this.otherBidSum = 0;
+        this.highBidSum = 0;
+        this.highBidCount = 0;
+        this.notHighBidSum = 0;
+        this.titForTatOffsetSum = 0;
     }
 
     /**
      * Records a bid made by the bidder and the opponent.
+     * Updates the running sums of the strategies, so the cost of a round does not grow with the number of rounds.
+     * Must be called after the bids were added to the history.
      *
      * @param own The bid made by this bidder.
      * @param other The bid made by the opponent.
      */
     public void bids(int own, int other) {
-        ownBids.add(own);
-        otherBids.add(other);
+        assert history.size() > 0 && history.getLastOther() == other : "Bids must be added to the history first";
         ownCash -= own; // Update own cash after the bid
         otherCash -= other; // Update opponent's cash after the bid
+
+        otherBidSum += other;
+        if (other >= highThreshold) {
+            highBidSum += other;
+            highBidCount++;
+        }
+        if (other <= highThreshold) {
+            notHighBidSum += other;
+        }
+        if (history.size() > 1) {
+            titForTatOffsetSum += Math.abs(history.getOwn(history.size() - 2) - other);
+        }
     }
 
     /**
@@ -48,7 +126,7 @@ public class OpponentStrategyBidder {
     public int getNextBid(OpponentStrategy strategy) {
         int nextBid = getNextBidUnsafe(strategy);
         // Clamp the bid to be non-negative and not exceed own cash, and if the opponent has not enough cash, just bid one more than their cash
-        return Utils.clamp(0, nextBid, Math.min(ownCash, otherCash + 1));
+        return Utils.clamp(0, nextBid, otherCash < ownCash ? otherCash + 1 : ownCash);
     }
 
     /**
@@ -81,7 +159,7 @@ public class OpponentStrategyBidder {
         int mediumBid = initialCash / initialQuantity;
         // Random bid, minimum is 0, maximum is double the medium bid
         return Math.min(
-                (int) (new Random().nextGaussian(mediumBid, mediumBid / 3.0)),
+                (int) (random.nextGaussian(mediumBid, mediumBid / unknownDeviationDivisor)),
                 2 * mediumBid
         );
     }
@@ -91,27 +169,19 @@ public class OpponentStrategyBidder {
      * @return The next bid to be made
      */
     private int getNextTitForTatBid() {
+        // Comparing bids needs two rounds, a classifier may be sure earlier
+        if (history.size() < 2) {
+            return getNextUnknownBid();
+        }
         //If last bid is high, start from zero
-        int highThreshold = 2 * initialCash / initialQuantity;
-        if (ownBids.getLast() >= highThreshold) {
+        if (history.getLastOwn() >= highThreshold) {
             return 0;
         }
 
-        // Compare lists, offset by one
-        Iterator<Integer> ownBidsIt = ownBids.subList(0, ownBids.size() - 1).iterator();
-        Iterator<Integer> otherBidsIt = otherBids.subList(1, otherBids.size()).iterator();
-
-        int averageOffset = 0;
-
-        // Iterate over matches
-        for (int i = 0; i < ownBids.size() - 1; i++) {
-            int ownBid = ownBidsIt.next();
-            int otherBid = otherBidsIt.next();
-            averageOffset += Math.abs(ownBid - otherBid);
-        }
-        averageOffset /= ownBids.size() - 1;
+        // Compare bids, offset by one
+        int averageOffset = (int) (titForTatOffsetSum / (history.size() - 1));
         // Return (last bid + averageOffset) * (120%)
-        return (int) ((ownBids.getLast() + averageOffset) * 1.2);
+        return (int) ((history.getLastOwn() + averageOffset) * titForTatMultiplier);
     }
 
     /**
@@ -122,21 +192,11 @@ public class OpponentStrategyBidder {
      */
     public int getNextSimpleAggressiveBid() {
         // See doc for details on the thresholds
-        int highThreshold = 2 * initialCash / initialQuantity;
         int veryHighThreshold = initialCash / (int) Math.ceil((initialQuantity + 1) / 4.0);
 
-        double averageHighBid = 0.0;
-        double averageLowBid = 0.0;
-        int numberOfHighBids = 0;
-
-        for (int bid : otherBids) {
-            if (bid >= highThreshold) {
-                numberOfHighBids++;
-                averageHighBid += bid;
-            } else {
-                averageLowBid += bid;
-            }
-        }
+        int numberOfHighBids = highBidCount;
+        double averageHighBid = highBidSum;
+        double averageLowBid = otherBidSum - highBidSum;
 
         averageHighBid = numberOfHighBids > 0 ? averageHighBid / numberOfHighBids : 0; // Avoid division by zero
         // If there are no high bids, something went wrong.
@@ -144,14 +204,14 @@ public class OpponentStrategyBidder {
             System.err.println("Warning: No high bids found in getNextSimpleAggressiveBid");
             return getNextRandomBid();
         }
-        averageLowBid = numberOfHighBids < otherBids.size() ? averageLowBid / (otherBids.size() - numberOfHighBids) : 0; // Avoid division by zero
+        averageLowBid = numberOfHighBids < history.size() ? averageLowBid / (history.size() - numberOfHighBids) : 0; // Avoid division by zero
 
         // If the opponent is betting very high and still has a lot of cash, let him bleed out
         if (averageHighBid >= veryHighThreshold) {
-            if (otherCash > initialCash / 2) {
+            if (otherCash > initialCash / bleedOutCashDivisor) {
                 // if he sometimes does low bids, return more than his average low bid
                 if (averageLowBid > 0) {
-                    return (int) Math.ceil(averageLowBid * 1.2); // 20% more than average low bid
+                    return (int) Math.ceil(averageLowBid * lowBidMultiplier); // 20% more than average low bid
                 } else {
                     return 0; // If no low bids to potentially outbid, just bid 0
                 }
@@ -160,12 +220,12 @@ public class OpponentStrategyBidder {
                 // Take the last two otherBids and average them, then add a small offset.
                 // Even if it still is very high, we now can afford to outbid him, and it's going to be lower.
 
-                if (ownBids.size() < 2) {
+                if (history.size() < 2) {
                     return 0; // Not enough data to make a bid, this should never happen in practice, edge case
                 }
-                int lastBid = otherBids.getLast();
-                int secondLastBid = otherBids.get(otherBids.size() - 2);
-                return (int) Math.ceil(((lastBid + secondLastBid) / 2.0) * 1.2); // 120% more than the average of the last two bids
+                int lastBid = history.getLastOther();
+                int secondLastBid = history.getOther(history.size() - 2);
+                return (int) Math.ceil(((lastBid + secondLastBid) / 2.0) * lastBidsMultiplier); // 120% more than the average of the last two bids
             }
         }
 
@@ -173,7 +233,7 @@ public class OpponentStrategyBidder {
         // In this case, sometimes outbid the opponent, sometimes bid very low. See docs for details.
 
         // We can afford to outbid the opponent. To keep our cash, bet low sometimes.
-        int highBid = (int) Math.ceil(averageHighBid * 1.2); // 20% more than the average high bid
+        int highBid = (int) Math.ceil(averageHighBid * highBidMultiplier); // 20% more than the average high bid
         // If we have less cash than the opponent, we need to be careful with our bids.
         if (ownCash < otherCash) {
             return 0;
@@ -188,21 +248,15 @@ public class OpponentStrategyBidder {
      */
     public int getNextSimpleConservativeBid() {
         // Calculate average low bid based on the opponent's bids.
-        int highThreshold = 2 * initialCash / initialQuantity;
-        double averageLowBid = 0.0;
-        for (int bid : otherBids) {
-            if (bid <= highThreshold) {
-                averageLowBid += bid;
-            }
-        }
+        double averageLowBid = notHighBidSum;
         // If there are no low bids, something went wrong.
         if (averageLowBid == 0) {
             System.err.println("Warning: No low bids found in getNextSimpleConservativeBid");
             return getNextRandomBid();
         }
-        averageLowBid /= otherBids.size(); // Average of all low bids
+        averageLowBid /= history.size(); // Average of all low bids
         // Bid 120% of the average low bid. See docs for details.
-        return (int) Math.ceil(averageLowBid * 1.2);
+        return (int) Math.ceil(averageLowBid * conservativeMultiplier);
     }
 
     /**
@@ -211,18 +265,14 @@ public class OpponentStrategyBidder {
      * @return The next bid to be made.
      */
     public int getNextRandomBid() {
-        double averageBid = 0;
-        for (int bid : otherBids) {
-            averageBid += bid;
-        }
-        averageBid /= otherBids.size();
+        double averageBid = (double) otherBidSum / history.size();
         // If we have less cash than the opponent, we need to be careful with our bids.
         if (ownCash < otherCash) {
             return 0;
         } else {
             // There is not much we can do if the opponent bets randomly but not in any range like in "AggressiveSimple" or "ConservativeSimple".
             // Just bid more, and if we don't have enough cash, bid zero. See docs for details.
-            return (int) Math.ceil(averageBid * 1.5);
+            return (int) Math.ceil(averageBid * randomMultiplier);
         }
     }
 }
@@ -1,34 +1,103 @@
 package auction.bidders.mybidder;
 
-import java.util.*;
+import java.util.Arrays;
+
+/**
+ * Categorizes the opponent by how well its bids match each strategy, with a threshold per strategy.
+ * Returns {@link OpponentStrategy#UNKNOWN} until two rounds were played.
+ */
+public class OpponentStrategyCategorizer implements OpponentClassifier {
+    private final BidHistory history;
+
+    // Thresholds of the bid categories, see getBidFrequencies()
+    private int veryHighThreshold;
+    private int highThreshold;
+    private int mediumThreshold;
+    // Average bid, a bid difference of this much is definitely not tit-for-tat
+    private int averageBid;
+
+    // Running counts of very high, high, medium and low bids of the opponent
+    private final int[] bidFrequencies = new int[4];
+    // Running sum of how close the opponent's bid is to our bid of the previous round
+    private double titForTatMatchSum;
+
+    // Minimum matches of the strategies, see MyBidderParameters
+    private final double titForTatThreshold;
+    private final double simpleAggressiveThreshold;
+    private final double simpleConservativeThreshold;
 
-public class OpponentStrategyCategorizer {
-    private final List<Integer> ownBids;
-    private final List<Integer> otherBids;
-
-    private final int initialQuantity;
-    private final int initialCash;
+    /**
+     * Creates a categorizer with the default parameters.
+     *
+     * @param quantity the quantity auctioned
+     * @param cash     the cash each bidder starts with
+     * @param history  the bids so far, which is read but not written by the categorizer
+     */
+    public OpponentStrategyCategorizer(int quantity, int cash, BidHistory history) {
+        this(quantity, cash, history, MyBidderParameters.DEFAULT);
+    }
 
-    private final static double TIT_FOR_TAT_THRESHOLD = 0.8;
-    private final static double SIMPLE_AGGRESSIVE_THRESHOLD = 0.8;
-    private final static double SIMPLE_CONSERVATIVE_THRESHOLD = 0.8;
+    /**
+     * @param quantity   the quantity auctioned
+     * @param cash       the cash each bidder starts with
+     * @param history    the bids so far, which is read but not written by the categorizer
+     * @param parameters the thresholds of the strategies
+     */
+    public OpponentStrategyCategorizer(int quantity, int cash, BidHistory history, MyBidderParameters parameters) {
+        this.history = history;
+        this.titForTatThreshold = parameters.get(MyBidderParameters.Parameter.TIT_FOR_TAT_THRESHOLD);
+        this.simpleAggressiveThreshold = parameters.get(MyBidderParameters.Parameter.SIMPLE_AGGRESSIVE_THRESHOLD);
+        this.simpleConservativeThreshold = parameters.get(MyBidderParameters.Parameter.SIMPLE_CONSERVATIVE_THRESHOLD);
+        reset(quantity, cash);
+    }
 
-    public OpponentStrategyCategorizer(int quantity, int cash) {
-        this.initialQuantity = quantity;
-        this.initialCash = cash;
-        this.ownBids = new LinkedList<>();
-        this.otherBids = new LinkedList<>();
+    /**
+     * Resets the categorizer for a new auction, so it can be reused without allocating.
+     * The history must be reset separately.
+     *
+     * @param quantity the quantity auctioned
+     * @param cash     the cash each bidder starts with
+     */
+    @Override
+    public void reset(int quantity, int cash) {
+        this.veryHighThreshold = cash / (int) Math.ceil((quantity + 1) / 4.0);
+        // 2L, so large cash does not overflow
+        this.highThreshold = (int) (2L * cash / quantity);
+        this.mediumThreshold = cash / quantity;
+        this.averageBid = (int) (2L * cash / quantity);
+        Arrays.fill(bidFrequencies, 0);
+        this.titForTatMatchSum = 0.0;
     }
 
     /**
      * Records a bid made by the bidder and the opponent.
+     * Updates the statistics used by {@link #categorize()}, so categorizing does not need to look at the history.
+     * Must be called after the bids were added to the history.
      *
      * @param own The bid made by this bidder.
      * @param other The bid made by the opponent.
      */
+    @Override
     public void bids(int own, int other) {
-        ownBids.add(own);
-        otherBids.add(other);
+        int rounds = history.size();
+        assert rounds > 0 && history.getLastOther() == other : "Bids must be added to the history first";
+        if (rounds > 1) {
+            int lastOwnBid = history.getOwn(rounds - 2);
+            // A bid is a perfect match (=1.0) if the same amount was bet.
+            // A bid is definitely not match if there is a difference the whole average bid
+            // In between, linear curve.
+            titForTatMatchSum += Math.max(1.0 - ((double) Math.abs(lastOwnBid - other) / averageBid), 0.0);
+        }
+
+        if (other > veryHighThreshold) {
+            bidFrequencies[0]++;
+        } else if (other > highThreshold) {
+            bidFrequencies[1]++;
+        } else if (other > mediumThreshold) {
+            bidFrequencies[2]++;
+        } else if (other > 0) {
+            bidFrequencies[3]++;
+        }
     }
 
     /**
@@ -36,19 +105,20 @@ public class OpponentStrategyCategorizer {
      *
      * @return The categorized strategy of the opponent.
      */
+    @Override
     public OpponentStrategy categorize() {
-        if (ownBids.size() < 2) {
+        if (history.size() < 2) {
             return OpponentStrategy.UNKNOWN; // Not enough data to categorize
         }
 
         // Check strategies. Since there is overlap between strategies, we check them in order of specificity.
-        if (isTitForTat() > TIT_FOR_TAT_THRESHOLD) {
+        if (isTitForTat() > titForTatThreshold) {
             return OpponentStrategy.TIT_FOR_TAT;
         }
-        if (isSimpleAggressive() > SIMPLE_AGGRESSIVE_THRESHOLD) {
+        if (isSimpleAggressive() > simpleAggressiveThreshold) {
             return OpponentStrategy.SIMPLE_AGGRESSIVE;
         }
-        if (isSimpleConservative() > SIMPLE_CONSERVATIVE_THRESHOLD) {
+        if (isSimpleConservative() > simpleConservativeThreshold) {
             return OpponentStrategy.SIMPLE_CONSERVATIVE;
         }
         return OpponentStrategy.RANDOM;
@@ -59,28 +129,11 @@ public class OpponentStrategyCategorizer {
      * @return 0, if it's definitely not a tit-for-tat strategy, 1 if it's a perfect tit-for-tat strategy
      */
     private double isTitForTat() {
-        if (ownBids.size() < 2) {
+        if (history.size() < 2) {
             return 0;
         }
         // average of how close two consecutive bids are
-        double result = 0.0;
-        // Compare lists, offset by one
-        Iterator<Integer> ownBidsIt = ownBids.subList(0, ownBids.size() - 1).iterator();
-        Iterator<Integer> otherBidsIt = otherBids.subList(1, otherBids.size()).iterator();
-
-        // Iterate over matches
-        for (int i = 0; i < ownBids.size() - 1; i++) {
-            int ownBid = ownBidsIt.next();
-            int otherBid = otherBidsIt.next();
-            int averageBid = 2 * initialCash / initialQuantity;
-
-            // A bid is a perfect match (=1.0) if the same amount was bet.
-            // A bid is definitely not match if there is a difference the whole average bid
-            // In between, linear curve.
-            result += Math.max(1.0 - ((double) Math.abs(ownBid - otherBid) / averageBid), 0.0);
-        }
-        result /= ownBids.size() - 1;
-        return result;
+        return titForTatMatchSum / (history.size() - 1);
     }
 
     /**
@@ -89,16 +142,15 @@ public class OpponentStrategyCategorizer {
      * @return A value between 0 and 1 indicating the degree of aggressiveness.
      */
     private double isSimpleAggressive() {
-        int[] frequencies = getBidFrequencies();
-        int nonAggressiveCount = frequencies[2] + frequencies[3];
-        int aggressiveCount = frequencies[0] + frequencies[1];
+        int nonAggressiveCount = bidFrequencies[2] + bidFrequencies[3];
+        int aggressiveCount = bidFrequencies[0] + bidFrequencies[1];
         // If there are more than 50% bids that are very high or high, we consider it aggressive.
-        if (nonAggressiveCount >= ownBids.size() / 2) {
+        if (nonAggressiveCount >= history.size() / 2) {
             return 0.0; // Not aggressive
         }
 
         // Linear interpolation between 0 and 1 based on the ratio of aggressive to total bids
-        return (double) aggressiveCount / ownBids.size();
+        return (double) aggressiveCount / history.size();
     }
 
     /**
@@ -107,16 +159,15 @@ public class OpponentStrategyCategorizer {
      * @return A value between 0 and 1 indicating the degree of conservativeness.
      */
     private double isSimpleConservative() {
-        int[] frequencies = getBidFrequencies();
-        int nonConservativeCount = frequencies[0] + frequencies[1];
-        int conservativeCount = frequencies[2] + frequencies[3];
+        int nonConservativeCount = bidFrequencies[0] + bidFrequencies[1];
+        int conservativeCount = bidFrequencies[2] + bidFrequencies[3];
         // If there are more than 50% bids that are medium or low, we consider it conservative.
-        if (nonConservativeCount >= ownBids.size() / 2) {
+        if (nonConservativeCount >= history.size() / 2) {
             return 0.0; // Not conservative
         }
 
         // Linear interpolation between 0 and 1 based on the ratio of conservative to total bids
-        return (double) conservativeCount / ownBids.size();
+        return (double) conservativeCount / history.size();
     }
 
     /**
@@ -127,23 +178,17 @@ public class OpponentStrategyCategorizer {
      * Low bid: > 0
      *
      * @return A 4-element array, index 0 is very high, index 1 is high, index 2 is medium, index 3 is low.
+     * The array is a copy, use {@link #getBidFrequency(int)} to avoid allocating.
      */
     public int[] getBidFrequencies() {
-        int[] result = new int[4];
-        int veryHighThreshold = initialCash / (int) Math.ceil((initialQuantity + 1) / 4.0);
-        int highThreshold = 2 * initialCash / initialQuantity;
-        int mediumThreshold = initialCash / initialQuantity;
-        for (int bid : otherBids) {
-            if (bid > veryHighThreshold) {
-                result[0]++;
-            } else if (bid > highThreshold) {
-                result[1]++;
-            } else if (bid > mediumThreshold) {
-                result[2]++;
-            } else if (bid > 0) {
-                result[3]++;
-            }
-        }
-        return result;
+        return bidFrequencies.clone();
+    }
+
+    /**
+     * @param category 0 is very high, 1 is high, 2 is medium, 3 is low, see {@link #getBidFrequencies()}
+     * @return the number of bids of the opponent in this category
+     */
+    public int getBidFrequency(int category) {
+        return bidFrequencies[category];
     }
 }
@@ -0,0 +1,171 @@
+package auction.bidders.solver;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.stream.IntStream;
+
+/**
+ * Computes an optimal mixed strategy for every state of an auction with backward induction.
+ * <p>
+ * A state is the number of rounds played, the QU of both bidders and the MU of both bidders.
+ * In the last round, the value of a state follows from the rules in {@link auction.AuctionResult}.
+ * In every earlier round, both bidders bid simultaneously, so each state is a zero-sum matrix game over the bids,
+ * whose payoffs are the values of the states of the next round. Its value is the probability to win
+ * plus half the probability of a tie. The game is symmetric, so one table serves both bidders.
+ * <p>
+ * Cash is discretized in levels of [step] MU, and only multiples of [step] are bid.
+ * With step 1 the solution is exact, but the number of states grows with the square of the cash,
+ * and the size of each matrix game with the cash as well. Coarser steps trade exactness for speed.
+ * The states of one round are independent of each other and are solved in parallel.
+ */
+public class EquilibriumSolver {
+    private final int quantity;
+    private final int cash;
+    private final int step;
+    private final int rounds;
+    private final int levels;
+    private final ThreadLocal<Workspace> workspaces = ThreadLocal.withInitial(Workspace::new);
+
+    /**
+     * @param quantity the quantity of the auction, must be positive and even
+     * @param cash     the initial cash of both bidders
+     * @param step     the MU per cash level, must divide the cash
+     */
+    public EquilibriumSolver(int quantity, int cash, int step) {
+        if (quantity <= 0 || quantity % 2 != 0) {
+            throw new IllegalArgumentException("Quantity must be positive and even");
+        }
+        if (step <= 0 || cash <= 0 || cash % step != 0) {
+            throw new IllegalArgumentException("Step must be positive and divide the cash");
+        }
+        if (cash / step >= Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many cash levels, use a larger step");
+        }
+        this.quantity = quantity;
+        this.cash = cash;
+        this.step = step;
+        this.rounds = quantity / 2;
+        this.levels = cash / step + 1;
+    }
+
+    /**
+     * Solves the auction and writes the policy file.
+     *
+     * @param file the policy file, see {@link Policy}
+     * @return the value of the initial state, which is 0.5 for a symmetric game
+     */
+    public double solve(Path file) throws IOException {
+        int stateCount = rounds * rounds * levels * levels;
+        float[] values = new float[stateCount];
+        short[][] supports = new short[stateCount][];
+        float[][] probabilities = new float[stateCount][];
+
+        double[] next = getTerminalValues();
+        for (int round = rounds - 1; round >= 0; round--) {
+            int count = (2 * round + 1) * levels * levels;
+            double[] current = new double[count];
+            double[] nextValues = next;
+            int first = Policy.getStateIndex(levels, round, 0, 0, 0);
+            int solvedRound = round;
+            IntStream.range(0, count).parallel().forEach(state -> {
+                Workspace workspace = workspaces.get();
+                current[state] = solveState(solvedRound, state, nextValues, workspace);
+                values[first + state] = (float) current[state];
+                storeStrategy(workspace, first + state, supports, probabilities);
+            });
+            next = current;
+        }
+
+        Policy.write(file, quantity, cash, step, values, supports, probabilities);
+        return values[Policy.getStateIndex(levels, 0, 0, levels - 1, levels - 1)];
+    }
+
+    /**
+     * Values after the last round, indexed by (own quantity, own cash level, other cash level).
+     */
+    private double[] getTerminalValues() {
+        double[] values = new double[(quantity + 1) * levels * levels];
+        for (int ownQuantity = 0; ownQuantity <= quantity; ownQuantity++) {
+            int otherQuantity = quantity - ownQuantity;
+            for (int ownLevel = 0; ownLevel < levels; ownLevel++) {
+                for (int otherLevel = 0; otherLevel < levels; otherLevel++) {
+                    double value;
+                    if (ownQuantity != otherQuantity) {
+                        value = ownQuantity > otherQuantity ? 1.0 : 0.0;
+                    } else if (ownLevel != otherLevel) {
+                        value = ownLevel > otherLevel ? 1.0 : 0.0;
+                    } else {
+                        value = 0.5;
+                    }
+                    values[(ownQuantity * levels + ownLevel) * levels + otherLevel] = value;
+                }
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Solves one state of a round. The optimal strategy is left in the workspace.
+     *
+     * @param round the number of rounds played
+     * @param state the index of the state within the round
+     * @param next  the values of the next round
+     * @return the value of the state
+     */
+    private double solveState(int round, int state, double[] next, Workspace workspace) {
+        int ownQuantity = state / (levels * levels);
+        int ownLevel = state / levels % levels;
+        int otherLevel = state % levels;
+        int otherQuantity = 2 * round - ownQuantity;
+
+        // If one bidder has more than half of the QU, the auction is decided. Keep the cash and bid 0.
+        if (2 * ownQuantity > quantity || 2 * otherQuantity > quantity) {
+            workspace.rows = 1;
+            workspace.strategy[0] = 1.0;
+            return 2 * ownQuantity > quantity ? 1.0 : 0.0;
+        }
+
+        double[][] payoff = workspace.payoff;
+        for (int ownBid = 0; ownBid <= ownLevel; ownBid++) {
+            for (int otherBid = 0; otherBid <= otherLevel; otherBid++) {
+                int won = ownBid > otherBid ? 2 : ownBid == otherBid ? 1 : 0;
+                payoff[ownBid][otherBid] = next[((ownQuantity + won) * levels + ownLevel - ownBid) * levels + otherLevel - otherBid];
+            }
+        }
+        workspace.rows = ownLevel + 1;
+        return MatrixGame.solve(payoff, ownLevel + 1, otherLevel + 1, workspace.strategy);
+    }
+
+    /**
+     * Stores the bids with a positive probability of the strategy in the workspace.
+     */
+    private static void storeStrategy(Workspace workspace, int index, short[][] supports, float[][] probabilities) {
+        int size = 0;
+        for (int bid = 0; bid < workspace.rows; bid++) {
+            if (workspace.strategy[bid] > 1e-9) {
+                size++;
+            }
+        }
+        short[] support = new short[size];
+        float[] probability = new float[size];
+        int entry = 0;
+        for (int bid = 0; bid < workspace.rows; bid++) {
+            if (workspace.strategy[bid] > 1e-9) {
+                support[entry] = (short) bid;
+                probability[entry] = (float) workspace.strategy[bid];
+                entry++;
+            }
+        }
+        supports[index] = support;
+        probabilities[index] = probability;
+    }
+
+    /**
+     * Buffers reused by all states solved on one thread.
+     */
+    private class Workspace {
+        final double[][] payoff = new double[levels][levels];
+        final double[] strategy = new double[levels];
+        int rows;
+    }
+}
@@ -0,0 +1,137 @@
+package auction.bidders.solver;
+
+/**
+ * Solves two-player zero-sum matrix games.
+ */
+class MatrixGame {
+    // Tolerance for rounding errors of the pivots
+    private final static double EPSILON = 1e-9;
+
+    /**
+     * Solves the game with the given payoff matrix for the row player, who maximizes the payoff.
+     * <p>
+     * Games with a saddle point are solved directly. Otherwise, the game is solved as a linear program
+     * with the simplex method, using Bland's rule so degenerate games cannot cycle.
+     *
+     * @param payoff   the payoff matrix, payoff[i][j] is the payoff of the row player if row i and column j are played
+     * @param rows     the number of rows to use
+     * @param cols     the number of columns to use
+     * @param strategy receives the optimal mixed strategy of the row player in its first [rows] elements
+     * @return the value of the game
+     */
+    static double solve(double[][] payoff, int rows, int cols, double[] strategy) {
+        // Look for a saddle point first, most states of the auction have one
+        int bestRow = 0;
+        double maxMin = Double.NEGATIVE_INFINITY;
+        double min = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < rows; i++) {
+            double rowMin = Double.POSITIVE_INFINITY;
+            for (int j = 0; j < cols; j++) {
+                rowMin = Math.min(rowMin, payoff[i][j]);
+            }
+            if (rowMin > maxMin) {
+                maxMin = rowMin;
+                bestRow = i;
+            }
+            min = Math.min(min, rowMin);
+        }
+        double minMax = Double.POSITIVE_INFINITY;
+        for (int j = 0; j < cols; j++) {
+            double colMax = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < rows; i++) {
+                colMax = Math.max(colMax, payoff[i][j]);
+            }
+            minMax = Math.min(minMax, colMax);
+        }
+        if (maxMin >= minMax - EPSILON) {
+            for (int i = 0; i < rows; i++) {
+                strategy[i] = i == bestRow ? 1.0 : 0.0;
+            }
+            return maxMin;
+        }
+        return solveLinearProgram(payoff, rows, cols, 1.0 - min, strategy);
+    }
+
+    /**
+     * Solves max sum(y) subject to (A + shift) y <= 1, y >= 0.
+     * With all shifted payoffs positive, the optimum is 1 / (value + shift),
+     * and the dual solution divided by the optimum is the strategy of the row player.
+     */
+    private static double solveLinearProgram(double[][] payoff, int rows, int cols, double shift, double[] strategy) {
+        // Tableau: [A + shift | identity | 1], the last row is the objective
+        int width = cols + rows + 1;
+        double[][] tableau = new double[rows + 1][width];
+        int[] basis = new int[rows];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                tableau[i][j] = payoff[i][j] + shift;
+            }
+            tableau[i][cols + i] = 1.0;
+            tableau[i][width - 1] = 1.0;
+            basis[i] = cols + i;
+        }
+        for (int j = 0; j < cols; j++) {
+            tableau[rows][j] = -1.0;
+        }
+
+        while (true) {
+            // Entering variable: the first one with a negative reduced cost
+            int entering = -1;
+            for (int j = 0; j < width - 1; j++) {
+                if (tableau[rows][j] < -EPSILON) {
+                    entering = j;
+                    break;
+                }
+            }
+            if (entering < 0) {
+                break;
+            }
+            // Leaving variable: minimum ratio, ties broken by the lowest basis index
+            int leaving = -1;
+            double minRatio = Double.POSITIVE_INFINITY;
+            for (int i = 0; i < rows; i++) {
+                if (tableau[i][entering] > EPSILON) {
+                    double ratio = tableau[i][width - 1] / tableau[i][entering];
+                    if (ratio < minRatio - EPSILON || (ratio < minRatio + EPSILON && leaving >= 0 && basis[i] < basis[leaving])) {
+                        minRatio = ratio;
+                        leaving = i;
+                    }
+                }
+            }
+            if (leaving < 0) {
+                // The program of a matrix game is bounded, so the negative reduced cost is a rounding error
+                break;
+            }
+            pivot(tableau, leaving, entering);
+            basis[leaving] = entering;
+        }
+
+        double optimum = tableau[rows][width - 1];
+        double total = 0.0;
+        for (int i = 0; i < rows; i++) {
+            strategy[i] = Math.max(tableau[rows][cols + i], 0.0);
+            total += strategy[i];
+        }
+        for (int i = 0; i < rows; i++) {
+            strategy[i] /= total;
+        }
+        return 1.0 / optimum - shift;
+    }
+
+    private static void pivot(double[][] tableau, int row, int col) {
+        double[] pivotRow = tableau[row];
+        double pivot = pivotRow[col];
+        for (int j = 0; j < pivotRow.length; j++) {
+            pivotRow[j] /= pivot;
+        }
+        for (int i = 0; i < tableau.length; i++) {
+            double factor = tableau[i][col];
+            if (i != row && factor != 0.0) {
+                double[] target = tableau[i];
+                for (int j = 0; j < target.length; j++) {
+                    target[j] -= factor * pivotRow[j];
+                }
+            }
+        }
+    }
+}
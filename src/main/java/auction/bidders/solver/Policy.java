@@ -0,0 +1,258 @@
+package auction.bidders.solver;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.random.RandomGenerator;
+
+/**
+ * A mixed strategy for every state of an auction, as computed by {@link EquilibriumSolver}.
+ * <p>
+ * The policy is stored in a compact binary file, which is loaded through a memory map.
+ * The strategy of each state is stored as an alias table over the bids with a positive probability,
+ * so sampling a bid takes constant time.
+ * <p>
+ * File layout, all numbers big-endian:
+ * <pre>
+ * header   int magic, int version, int quantity, int cash, int step, int stateCount, int entryCount, int reserved
+ * offsets  int[stateCount + 1], the entries of state s are [offsets[s], offsets[s + 1])
+ * values   float[stateCount], the value of each state for the bidder to move
+ * entries  entryCount times (short level, short alias, float probability)
+ * </pre>
+ * Cash is stored in levels of [step] MU. A state is identified by the round, the own quantity,
+ * and the cash levels of both bidders, see {@link #getStateIndex}.
+ */
+public class Policy {
+    private final static int MAGIC = 0x41554350;
+    private final static int VERSION = 1;
+    private final static int HEADER_SIZE = 32;
+    private final static int ENTRY_SIZE = 8;
+
+    private final ByteBuffer buffer;
+    private final int quantity;
+    private final int cash;
+    private final int step;
+    private final int levels;
+    private final int stateCount;
+    private final int valuesStart;
+    private final int entriesStart;
+    // SHA-256 of the whole file as hex, computed on first use, guarded by this
+    private String fingerprint;
+
+    private Policy(ByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Not a policy file of version " + VERSION);
+        }
+        this.quantity = buffer.getInt(8);
+        this.cash = buffer.getInt(12);
+        this.step = buffer.getInt(16);
+        this.stateCount = buffer.getInt(20);
+        this.levels = cash / step + 1;
+        this.valuesStart = HEADER_SIZE + 4 * (stateCount + 1);
+        this.entriesStart = valuesStart + 4 * stateCount;
+    }
+
+    /**
+     * Loads a policy file through a read-only memory map.
+     * The returned policy can be shared by any number of bidders and threads.
+     */
+    public static Policy load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new Policy(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Writes a policy file.
+     *
+     * @param file          the file to write
+     * @param quantity      the quantity of the auction
+     * @param cash          the initial cash of both bidders
+     * @param step          the MU per cash level
+     * @param values        the value of each state
+     * @param supports      the cash levels of the bids with a positive probability, for each state
+     * @param probabilities the probabilities of these bids, for each state
+     */
+    static void write(Path file, int quantity, int cash, int step, float[] values,
+                      short[][] supports, float[][] probabilities) throws IOException {
+        int stateCount = values.length;
+        int entryCount = 0;
+        for (short[] support : supports) {
+            entryCount += support.length;
+        }
+        try (OutputStream stream = Files.newOutputStream(file);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(quantity);
+            out.writeInt(cash);
+            out.writeInt(step);
+            out.writeInt(stateCount);
+            out.writeInt(entryCount);
+            out.writeInt(0);
+
+            int offset = 0;
+            for (short[] support : supports) {
+                out.writeInt(offset);
+                offset += support.length;
+            }
+            out.writeInt(offset);
+            for (float value : values) {
+                out.writeFloat(value);
+            }
+            for (int state = 0; state < stateCount; state++) {
+                writeAliasTable(out, supports[state], probabilities[state]);
+            }
+        }
+    }
+
+    /**
+     * Writes the alias table of one state, built with Vose's method.
+     */
+    private static void writeAliasTable(DataOutputStream out, short[] support, float[] probabilities) throws IOException {
+        int size = support.length;
+        double[] scaled = new double[size];
+        float[] thresholds = new float[size];
+        short[] aliases = new short[size];
+        int[] small = new int[size];
+        int[] large = new int[size];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < size; i++) {
+            scaled[i] = probabilities[i] * size;
+            aliases[i] = (short) i;
+            if (scaled[i] < 1.0) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            thresholds[less] = (float) scaled[less];
+            aliases[less] = (short) more;
+            scaled[more] = scaled[more] + scaled[less] - 1.0;
+            if (scaled[more] < 1.0) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+        // The remaining entries are 1.0 up to rounding errors
+        while (largeCount > 0) {
+            thresholds[large[--largeCount]] = 1.0f;
+        }
+        while (smallCount > 0) {
+            thresholds[small[--smallCount]] = 1.0f;
+        }
+        for (int i = 0; i < size; i++) {
+            out.writeShort(support[i]);
+            out.writeShort(aliases[i]);
+            out.writeFloat(thresholds[i]);
+        }
+    }
+
+    /**
+     * Samples the next bid from the stored mixed strategy.
+     * Cash that does not fall on a cash level is rounded down to the next level.
+     *
+     * @param ownQuantity   the QU owned by the bidder
+     * @param ownCash       the MU remaining for the bidder
+     * @param otherQuantity the QU owned by the other bidder
+     * @param otherCash     the MU remaining for the other bidder
+     * @param random        the random source
+     * @return the next bid, which is a multiple of the step and not more than the own cash
+     */
+    public int sampleBid(int ownQuantity, int ownCash, int otherQuantity, int otherCash, RandomGenerator random) {
+        int state = getStateIndex(ownQuantity, ownCash, otherQuantity, otherCash);
+        if (state < 0) {
+            return 0; // The auction is over
+        }
+        int from = buffer.getInt(HEADER_SIZE + 4 * state);
+        int size = buffer.getInt(HEADER_SIZE + 4 * (state + 1)) - from;
+
+        double u = random.nextDouble() * size;
+        int index = Math.min((int) u, size - 1);
+        int entry = entriesStart + ENTRY_SIZE * (from + index);
+        if (u - index >= buffer.getFloat(entry + 4)) {
+            entry = entriesStart + ENTRY_SIZE * (from + buffer.getShort(entry + 2));
+        }
+        return buffer.getShort(entry) * step;
+    }
+
+    /**
+     * @return the value of the state for the bidder, i.e. the probability to win plus half the probability of a tie,
+     * if both bidders play the stored strategy
+     */
+    public double getValue(int ownQuantity, int ownCash, int otherQuantity, int otherCash) {
+        int state = getStateIndex(ownQuantity, ownCash, otherQuantity, otherCash);
+        if (state < 0) {
+            return Double.NaN;
+        }
+        return buffer.getFloat(valuesStart + 4 * state);
+    }
+
+    /**
+     * @return the index of the state, or -1 if the auction is over
+     */
+    private int getStateIndex(int ownQuantity, int ownCash, int otherQuantity, int otherCash) {
+        int round = (ownQuantity + otherQuantity) / 2;
+        if (round >= quantity / 2) {
+            return -1;
+        }
+        int ownLevel = Math.min(ownCash / step, levels - 1);
+        int otherLevel = Math.min(otherCash / step, levels - 1);
+        return getStateIndex(levels, round, ownQuantity, ownLevel, otherLevel);
+    }
+
+    /**
+     * States are ordered by round, own quantity, own cash level and other cash level.
+     * Before round t, there are t * t combinations of round and own quantity, each with all cash levels.
+     */
+    static int getStateIndex(int levels, int round, int ownQuantity, int ownLevel, int otherLevel) {
+        return ((round * round + ownQuantity) * levels + ownLevel) * levels + otherLevel;
+    }
+
+    /**
+     * @return a hash of the whole policy, which is the same for policies loaded from equal files
+     */
+    public synchronized String getFingerprint() {
+        if (fingerprint == null) {
+            try {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                digest.update(buffer.duplicate().clear());
+                fingerprint = HexFormat.of().formatHex(digest.digest());
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is required by every JDK", e);
+            }
+        }
+        return fingerprint;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public int getCash() {
+        return cash;
+    }
+
+    public int getStep() {
+        return step;
+    }
+
+    public int getStateCount() {
+        return stateCount;
+    }
+}
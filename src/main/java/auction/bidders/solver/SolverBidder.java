@@ -0,0 +1,40 @@
+package auction.bidders.solver;
+
+import auction.bidders.AbstractBidder;
+
+/**
+ * Bids according to a precomputed equilibrium policy, see {@link EquilibriumSolver}.
+ * Each bid is sampled from the mixed strategy of the current state in constant time.
+ */
+public class SolverBidder extends AbstractBidder {
+    private final Policy policy;
+
+    /**
+     * @param policy the policy, which may be shared between bidders
+     */
+    public SolverBidder(Policy policy) {
+        this.policy = policy;
+    }
+
+    /**
+     * @return the fingerprint of the policy
+     */
+    @Override
+    public String getConfiguration() {
+        return policy.getFingerprint();
+    }
+
+    @Override
+    public void init(int quantity, int cash) {
+        if (quantity != policy.getQuantity() || cash != policy.getCash()) {
+            throw new IllegalArgumentException("Policy was solved for " + policy.getQuantity() + " QU and "
+                    + policy.getCash() + " MU, not for " + quantity + " QU and " + cash + " MU");
+        }
+        super.init(quantity, cash);
+    }
+
+    @Override
+    public int placeBid() {
+        return Math.min(policy.sampleBid(ownQuantity, ownCash, otherQuantity, otherCash, random), ownCash);
+    }
+}
@@ -12,11 +12,11 @@ public class WinConditionStrategy {
      */
     public static boolean isWinConditionMet(int startQuantity, int ownQuantity, int ownCash, int otherQuantity, int otherCash) {
         // First win condition: Own quantity is more than half of the total quantity
-        if (2 * ownQuantity > startQuantity) {
+        if (2L * ownQuantity > startQuantity) {
             return true;
         }
         // Second win condition: Own quantity is half and own cash is more than the other bidder's cash
-        if (2 * ownQuantity == startQuantity && ownCash > otherCash) {
+        if (2L * ownQuantity == startQuantity && ownCash > otherCash) {
             return true;
         }
         // How many quantity units are needed to get more than half of the total quantity
@@ -27,7 +27,8 @@ public class WinConditionStrategy {
         }
         // Third win condition: If we can bet more than the entire cash of the other bidder for [wonRoundsNeeded] rounds.
         int wonRoundsNeeded = (int) Math.ceil(quantityNeeded / 2.0); // Each round we can win 2 quantity units
-        if (ownCash > (otherCash+1) * wonRoundsNeeded) {
+        // As a long, the product overflows an int for large cash and quantities
+        if (ownCash > (otherCash + 1L) * wonRoundsNeeded) {
             return true;
         }
         return false;
@@ -45,10 +46,10 @@ public class WinConditionStrategy {
         if (!isWinConditionMet(startQuantity, ownQuantity, ownCash, otherQuantity, otherCash)) {
             throw new IllegalStateException("Win condition not met, cannot calculate next bid.");
         }
-        if (2 * ownQuantity > startQuantity) {
+        if (2L * ownQuantity > startQuantity) {
             return 0; // Already won, no next bid needed
         }
-        if (2 * ownQuantity == startQuantity && ownCash > otherCash) {
+        if (2L * ownQuantity == startQuantity && ownCash > otherCash) {
             return 0; // Already won, no next bid needed
         }
         // We can bet more than the entire cash of the other bidder for [wonRoundsNeeded] rounds.
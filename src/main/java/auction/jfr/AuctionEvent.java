@@ -0,0 +1,56 @@
+package auction.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One run of an {@link auction.Auction}, from initializing the bidders to the result.
+ */
+@Name("auction.Auction")
+@Label("Auction")
+@Category("Auction")
+@Description("One run of an auction between two bidders")
+@StackTrace(false)
+public class AuctionEvent extends jdk.jfr.Event {
+    // Never committed, only asks whether the event type is enabled without allocating
+    private final static AuctionEvent PROBE = new AuctionEvent();
+
+    @Label("Bidder 1")
+    public Class<?> bidder1;
+
+    @Label("Bidder 2")
+    public Class<?> bidder2;
+
+    @Label("Quantity")
+    public int quantity;
+
+    @Label("Cash")
+    public int cash;
+
+    @Label("Result")
+    public String result;
+
+    @Label("Quantity Won by Bidder 1")
+    public int quantityWon1;
+
+    @Label("Quantity Won by Bidder 2")
+    public int quantityWon2;
+
+    @Label("Cash of Bidder 1")
+    @Description("Cash left at the end")
+    public int cash1;
+
+    @Label("Cash of Bidder 2")
+    @Description("Cash left at the end")
+    public int cash2;
+
+    /**
+     * @return whether a recording records this event, so the event is only created when it is needed
+     */
+    public static boolean isTypeEnabled() {
+        return PROBE.isEnabled();
+    }
+}
@@ -0,0 +1,39 @@
+package auction.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One categorization of the opponent by {@link auction.bidders.mybidder.MyBidder},
+ * so a recording shows how the category changes over an auction and what categorizing costs.
+ */
+@Name("auction.Categorization")
+@Label("Opponent Categorization")
+@Category({"Auction", "MyBidder"})
+@Description("One categorization of the opponent's strategy")
+@StackTrace(false)
+public class CategorizationEvent extends jdk.jfr.Event {
+    // Never committed, only asks whether the event type is enabled without allocating
+    private final static CategorizationEvent PROBE = new CategorizationEvent();
+
+    @Label("Classifier")
+    public Class<?> classifier;
+
+    @Label("Round")
+    @Description("The round the bid is for, starting at 0")
+    public int round;
+
+    @Label("Strategy")
+    @Description("The strategy the opponent was categorized as")
+    public String strategy;
+
+    /**
+     * @return whether a recording records this event, so the event is only created when it is needed
+     */
+    public static boolean isTypeEnabled() {
+        return PROBE.isEnabled();
+    }
+}
@@ -0,0 +1,51 @@
+package auction.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One round of an {@link auction.Auction}, from asking for the bids to notifying the bidders.
+ * <p>
+ * A round takes well below a microsecond, so recording every round slows the arena down a lot.
+ * The event is disabled by default. To sample only the slow rounds, enable it with a threshold,
+ * like {@code Main.runFlightRecording()} does.
+ */
+@Name("auction.Round")
+@Label("Auction Round")
+@Category("Auction")
+@Description("One round of an auction, disabled by default")
+@Enabled(false)
+@StackTrace(false)
+public class RoundEvent extends jdk.jfr.Event {
+    // Never committed, only asks whether the event type is enabled without allocating
+    private final static RoundEvent PROBE = new RoundEvent();
+
+    @Label("Round")
+    @Description("The round, starting at 0")
+    public int round;
+
+    @Label("Bid 1")
+    public int bid1;
+
+    @Label("Bid 2")
+    public int bid2;
+
+    @Label("Cash of Bidder 1")
+    @Description("Cash left after the round")
+    public int cash1;
+
+    @Label("Cash of Bidder 2")
+    @Description("Cash left after the round")
+    public int cash2;
+
+    /**
+     * @return whether a recording records this event, so the event is only created when it is needed
+     */
+    public static boolean isTypeEnabled() {
+        return PROBE.isEnabled();
+    }
+}
@@ -0,0 +1,50 @@
+package auction.market;
+
+import auction.Bidder;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Lets a two-bidder {@link Bidder} take part in a market.
+ * <p>
+ * The bidder sees the market as one opponent, whose bid is the highest bid of all other bidders,
+ * but at most the cash this opponent would have left. That way the bidder never sees an opponent that overdraws.
+ * In a market of two, this is exactly the two-bidder auction. With more bidders, the bidder's own idea of the
+ * opponent's cash and quantity is only an approximation.
+ */
+public class BidderAdapter implements MarketBidder {
+    private final Bidder bidder;
+    private int seat;
+    // Cash left of the single opponent the bidder sees
+    private int opponentCash;
+
+    public BidderAdapter(Bidder bidder) {
+        this.bidder = bidder;
+    }
+
+    @Override
+    public void init(int bidders, int seat, int quantity, int unitsPerRound, int cash, RandomGenerator random) {
+        this.seat = seat;
+        this.opponentCash = cash;
+        bidder.init(quantity, cash, random);
+    }
+
+    @Override
+    public int placeBid() {
+        return bidder.placeBid();
+    }
+
+    @Override
+    public void bids(MarketRound round) {
+        int other = Math.min(round.getHighestBidExcept(seat), opponentCash);
+        opponentCash -= other;
+        bidder.bids(round.getBid(seat), other);
+    }
+
+    /**
+     * @return the wrapped two-bidder bidder
+     */
+    public Bidder getBidder() {
+        return bidder;
+    }
+}
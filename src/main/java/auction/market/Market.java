@@ -0,0 +1,185 @@
+package auction.market;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Runs an auction with any number of bidders.
+ * <p>
+ * Each round, every bidder places a bid and pays it. The units of the round go to the highest bid.
+ * If several bidders tie for the highest bid, they split the units evenly. Units that cannot be split evenly
+ * go to randomly chosen bidders of the tie, one unit each, so a lower bid never wins anything.
+ * With two bidders and two units per round, these are the rules of {@link auction.Auction}.
+ * <p>
+ * Bids are ranked by sorting them packed into longs, the bid in the high and the seat in the low half.
+ * So a round costs O(N log N) for N bidders, without allocating.
+ */
+public class Market {
+    private final MarketBidder[] bidders;
+    private final int quantity;
+    private final int unitsPerRound;
+    private final int initialCash;
+    // The random sources of the bidders, which are passed to them at the start of every run.
+    private final RandomGenerator[] randoms;
+    // Chooses the bidders of a tie that get the units that cannot be split evenly
+    private final RandomGenerator tieBreaks;
+
+    // State of the current run, indexed by seat
+    private final int[] ownedQuantity;
+    private final int[] cash;
+    private final int[] bids;
+    private final int[] units;
+    // Packed (bid << 32 | seat) or (quantity << 32 | cash), sorted to rank the bidders
+    private final long[] keys;
+    // The seats that tie for the highest bid, shuffled to choose who gets the remaining units
+    private final int[] tied;
+    // The view of the current round that is shown to the bidders
+    private final MarketRound view;
+
+    /**
+     * Creates a new market with two units per round and unseeded random sources.
+     *
+     * @param bidders     the bidders, at least two
+     * @param quantity    the total quantity of the product to be auctioned
+     * @param initialCash the initial amount of money each bidder has
+     */
+    public Market(List<? extends MarketBidder> bidders, int quantity, int initialCash) {
+        this(bidders, quantity, 2, initialCash, new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Creates a new market.
+     *
+     * @param bidders       the bidders, at least two
+     * @param quantity      the total quantity of the product to be auctioned, a multiple of unitsPerRound
+     * @param unitsPerRound the quantity auctioned in each round
+     * @param initialCash   the initial amount of money each bidder has
+     * @param seed          the seed of the random sources of the bidders, the same seed gives the same results
+     */
+    public Market(List<? extends MarketBidder> bidders, int quantity, int unitsPerRound, int initialCash, long seed) {
+        this.bidders = bidders.toArray(new MarketBidder[0]);
+        this.quantity = quantity;
+        this.unitsPerRound = unitsPerRound;
+        this.initialCash = initialCash;
+
+        int size = this.bidders.length;
+        this.randoms = new RandomGenerator[size];
+        SplittableRandom root = new SplittableRandom(seed);
+        for (int seat = 0; seat < size; seat++) {
+            randoms[seat] = root.split();
+        }
+        this.tieBreaks = root.split();
+        this.ownedQuantity = new int[size];
+        this.cash = new int[size];
+        this.bids = new int[size];
+        this.units = new int[size];
+        this.keys = new long[size];
+        this.tied = new int[size];
+        this.view = new MarketRound(bids, units);
+
+        assert size >= 2 : "A market needs at least two bidders";
+        assert unitsPerRound > 0 : "Units per round must be greater than zero";
+        assert quantity > 0 && quantity % unitsPerRound == 0 : "Quantity must be a positive multiple of the units per round";
+        assert initialCash > 0 : "Initial cash must be greater than zero";
+    }
+
+    /**
+     * Runs the auction.
+     * <p>
+     * This method initializes all bidders and runs the auction rounds.
+     */
+    public MarketResult run() {
+        for (int seat = 0; seat < bidders.length; seat++) {
+            bidders[seat].init(bidders.length, seat, quantity, unitsPerRound, initialCash, randoms[seat]);
+        }
+        Arrays.fill(ownedQuantity, 0);
+        Arrays.fill(cash, initialCash);
+
+        for (int round = 0; round < quantity / unitsPerRound; round++) {
+            runRound(round);
+        }
+        return rank();
+    }
+
+    private void runRound(int round) {
+        // Get bids
+        for (int seat = 0; seat < bidders.length; seat++) {
+            int bid = bidders[seat].placeBid();
+            assert bid >= 0 : "Bids must be non-negative";
+            assert bid <= cash[seat] : "Bidder cannot overdraw their cash";
+            bids[seat] = bid;
+            keys[seat] = (long) bid << 32 | seat;
+        }
+
+        // Allocate the units to the highest bid
+        Arrays.fill(units, 0);
+        Arrays.sort(keys);
+        int highestBid = (int) (keys[keys.length - 1] >>> 32);
+        int tiedCount = 0;
+        for (int k = keys.length - 1; k >= 0 && (int) (keys[k] >>> 32) == highestBid; k--) {
+            tied[tiedCount++] = (int) keys[k];
+        }
+        int share = unitsPerRound / tiedCount;
+        for (int k = 0; k < tiedCount; k++) {
+            units[tied[k]] = share;
+        }
+        // One more unit each for randomly chosen bidders of the tie, by a partial Fisher-Yates shuffle
+        int remaining = unitsPerRound - share * tiedCount;
+        for (int k = 0; k < remaining; k++) {
+            int chosen = k + tieBreaks.nextInt(tiedCount - k);
+            int seat = tied[chosen];
+            tied[chosen] = tied[k];
+            tied[k] = seat;
+            units[seat]++;
+        }
+
+        // Process bids
+        for (int seat = 0; seat < bidders.length; seat++) {
+            cash[seat] -= bids[seat];
+            ownedQuantity[seat] += units[seat];
+        }
+
+        // Notify bidders of the bids. Equal bids are sorted by seat, so the highest seat of the highest bid comes last.
+        view.set(round, (int) keys[keys.length - 1], (int) keys[keys.length - 2]);
+        for (MarketBidder bidder : bidders) {
+            bidder.bids(view);
+        }
+    }
+
+    /**
+     * Ranks the bidders by quantity and cash.
+     */
+    private MarketResult rank() {
+        for (int seat = 0; seat < bidders.length; seat++) {
+            keys[seat] = (long) ownedQuantity[seat] << 32 | cash[seat];
+        }
+        long[] sorted = keys.clone();
+        Arrays.sort(sorted);
+
+        int[] ranks = new int[bidders.length];
+        for (int seat = 0; seat < bidders.length; seat++) {
+            // The rank is the number of bidders that are strictly better
+            ranks[seat] = sorted.length - getUpperBound(sorted, keys[seat]);
+        }
+        return new MarketResult(ownedQuantity.clone(), cash.clone(), ranks);
+    }
+
+    /**
+     * @return the index of the first element greater than the key in the sorted array
+     */
+    private static int getUpperBound(long[] sorted, long key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sorted[middle] <= key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,35 @@
+package auction.market;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Represents a bidder in a {@link Market} with any number of bidders.
+ */
+public interface MarketBidder {
+    /**
+     * Initializes the bidder for a new auction.
+     *
+     * @param bidders       the number of bidders in the market
+     * @param seat          the index of this bidder in the market, between 0 and bidders - 1
+     * @param quantity      the total quantity of the product to be auctioned
+     * @param unitsPerRound the quantity auctioned in each round
+     * @param cash          the cash each bidder starts with
+     * @param random        the random source to use for this auction
+     */
+    void init(int bidders, int seat, int quantity, int unitsPerRound, int cash, RandomGenerator random);
+
+    /**
+     * Retrieves the next bid for the product, which may be zero.
+     *
+     * @return the next bid
+     */
+    int placeBid();
+
+    /**
+     * Shows the bids of all bidders and the units they won in the round.
+     * The round is shared by all bidders and reused in the next round, it must not be kept.
+     *
+     * @param round the bids and units of the round
+     */
+    void bids(MarketRound round);
+}
@@ -0,0 +1,45 @@
+package auction.market;
+
+/**
+ * The final standings of a market auction.
+ * <p>
+ * Bidders are ranked by their quantity, and by their remaining cash if the quantity is equal, like in the
+ * two-bidder auction. Bidders with equal quantity and cash share a rank. Rank 0 is the best.
+ */
+public class MarketResult {
+    private final int[] quantity;
+    private final int[] cash;
+    private final int[] ranks;
+
+    MarketResult(int[] quantity, int[] cash, int[] ranks) {
+        this.quantity = quantity;
+        this.cash = cash;
+        this.ranks = ranks;
+    }
+
+    public int getBidderCount() {
+        return ranks.length;
+    }
+
+    /**
+     * @return the rank of the bidder, 0 is the best, bidders with the same quantity and cash have the same rank
+     */
+    public int getRank(int seat) {
+        return ranks[seat];
+    }
+
+    /**
+     * @return whether the bidder has the best rank, possibly shared with other bidders
+     */
+    public boolean isWinner(int seat) {
+        return ranks[seat] == 0;
+    }
+
+    public int getQuantity(int seat) {
+        return quantity[seat];
+    }
+
+    public int getCash(int seat) {
+        return cash[seat];
+    }
+}
@@ -0,0 +1,59 @@
+package auction.market;
+
+/**
+ * The bids of a market round and the units they won, as shown to the bidders.
+ * <p>
+ * One instance is reused for every round, so it is only valid during {@link MarketBidder#bids(MarketRound)}.
+ */
+public class MarketRound {
+    private final int[] bids;
+    private final int[] units;
+    private int round;
+    // The seats with the highest and the second highest bid, ties broken by seat
+    private int highestSeat;
+    private int secondSeat;
+
+    MarketRound(int[] bids, int[] units) {
+        this.bids = bids;
+        this.units = units;
+    }
+
+    void set(int round, int highestSeat, int secondSeat) {
+        this.round = round;
+        this.highestSeat = highestSeat;
+        this.secondSeat = secondSeat;
+    }
+
+    /**
+     * @return the round, starting at 0
+     */
+    public int getRound() {
+        return round;
+    }
+
+    public int getBidderCount() {
+        return bids.length;
+    }
+
+    public int getBid(int seat) {
+        return bids[seat];
+    }
+
+    /**
+     * @return the units the bidder won in this round
+     */
+    public int getUnits(int seat) {
+        return units[seat];
+    }
+
+    public int getHighestBid() {
+        return bids[highestSeat];
+    }
+
+    /**
+     * @return the highest bid of all bidders except the given one, in constant time
+     */
+    public int getHighestBidExcept(int seat) {
+        return bids[seat == highestSeat ? secondSeat : highestSeat];
+    }
+}
@@ -0,0 +1,54 @@
+package auction.transcript;
+
+import auction.Bidder;
+
+/**
+ * Plays back a recorded stream of bids, regardless of what the other bidder does.
+ * <p>
+ * Since the bids of a recorded bidder determine its own cash, the recorded bids are always valid when replayed
+ * with the same quantity and cash. The bids can be replaced with {@link #setBids} to replay another auction.
+ */
+public class ReplayBidder implements Bidder {
+    private int[] bids = new int[0];
+    private int recordedRounds;
+    private int recordedQuantity;
+    private int recordedCash;
+    private int round;
+
+    /**
+     * Sets the bids to play back in the next auction.
+     *
+     * @param bids     the bids, one per round. The array is copied.
+     * @param quantity the quantity of the recorded auction
+     * @param cash     the initial cash of the recorded auction
+     */
+    public void setBids(int[] bids, int quantity, int cash) {
+        int rounds = quantity / 2;
+        if (this.bids.length < rounds) {
+            this.bids = new int[rounds];
+        }
+        System.arraycopy(bids, 0, this.bids, 0, rounds);
+        this.recordedRounds = rounds;
+        this.recordedQuantity = quantity;
+        this.recordedCash = cash;
+    }
+
+    @Override
+    public void init(int quantity, int cash) {
+        if (quantity != recordedQuantity || cash != recordedCash) {
+            throw new IllegalStateException("Recorded auction had quantity " + recordedQuantity + " and cash " + recordedCash);
+        }
+        round = 0;
+    }
+
+    @Override
+    public int placeBid() {
+        assert round < recordedRounds : "No more recorded bids";
+        return bids[round];
+    }
+
+    @Override
+    public void bids(int own, int other) {
+        round++;
+    }
+}
@@ -0,0 +1,58 @@
+package auction.transcript;
+
+import auction.Auction;
+import auction.Bidder;
+import auction.arena.Seeds;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+/**
+ * Replays recorded bidders from a transcript against a live bidder.
+ * <p>
+ * This answers "how would this bidder have done against exactly these opponents" without running the opponents again.
+ * Opponents that react to the other bidder will not react to the live bidder, they just repeat their recorded bids.
+ */
+public class ReplayEngine {
+    private final Path transcript;
+
+    public ReplayEngine(Path transcript) {
+        this.transcript = transcript;
+    }
+
+    /**
+     * Plays the live bidder against every recorded auction of a bidder, in either seat.
+     * The live bidder always plays as bidder 1.
+     *
+     * @param recordedBidder the id of the recorded bidder whose bids are replayed
+     * @param live           the live bidder, which is re-initialized for each auction
+     * @param seed           the seed of the random sources of the live bidder
+     * @return a 3-element array: wins of the live bidder, ties, wins of the recorded bidder
+     */
+    public int[] replay(int recordedBidder, Bidder live, long seed) throws IOException {
+        ReplayBidder replay = new ReplayBidder();
+        int[] counts = new int[3];
+        try (TranscriptReader reader = new TranscriptReader(transcript)) {
+            while (reader.next()) {
+                if (reader.getBidder1() == recordedBidder) {
+                    replay.setBids(reader.getBids1(), reader.getQuantity(), reader.getCash());
+                } else if (reader.getBidder2() == recordedBidder) {
+                    replay.setBids(reader.getBids2(), reader.getQuantity(), reader.getCash());
+                } else {
+                    continue;
+                }
+                // Seeded by the recorded auction, so the result does not depend on the order of the records
+                long auctionSeed = Seeds.derive(seed, reader.getBidder1(), reader.getBidder2(), reader.getAuctionId());
+                Auction auction = new Auction(live, replay, reader.getQuantity(), reader.getCash(),
+                        new SplittableRandom(auctionSeed), new SplittableRandom(auctionSeed));
+                switch (auction.run()) {
+                    case BIDDER_1_WINS -> counts[0]++;
+                    case TIE -> counts[1]++;
+                    case BIDDER_2_WINS -> counts[2]++;
+                }
+            }
+        }
+        return counts;
+    }
+}
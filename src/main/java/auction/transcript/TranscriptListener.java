@@ -0,0 +1,65 @@
+package auction.transcript;
+
+import auction.AuctionListener;
+import auction.AuctionResult;
+import auction.BidderData;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Records the bids of both bidders of every auction it observes.
+ * <p>
+ * The bids of an auction are collected in memory and written to the transcript as one record when the auction
+ * is finished. Auctions get consecutive ids, starting at the given first id.
+ */
+public class TranscriptListener implements AuctionListener {
+    private final TranscriptWriter writer;
+    private final int bidder1;
+    private final int bidder2;
+    private long auctionId;
+
+    private int quantity;
+    private int cash;
+    private int[] bids1 = new int[0];
+    private int[] bids2 = new int[0];
+
+    /**
+     * @param writer         the transcript to write to
+     * @param bidder1        the id of the first bidder in the transcript
+     * @param bidder2        the id of the second bidder in the transcript
+     * @param firstAuctionId the id of the first recorded auction
+     */
+    public TranscriptListener(TranscriptWriter writer, int bidder1, int bidder2, long firstAuctionId) {
+        this.writer = writer;
+        this.bidder1 = bidder1;
+        this.bidder2 = bidder2;
+        this.auctionId = firstAuctionId;
+    }
+
+    @Override
+    public void auctionStarted(int quantity, int cash) {
+        this.quantity = quantity;
+        this.cash = cash;
+        if (bids1.length < quantity / 2) {
+            bids1 = new int[quantity / 2];
+            bids2 = new int[quantity / 2];
+        }
+    }
+
+    @Override
+    public void roundPlayed(int round, int bid1, int bid2, BidderData bidder1Data, BidderData bidder2Data) {
+        bids1[round] = bid1;
+        bids2[round] = bid2;
+    }
+
+    @Override
+    public void auctionFinished(AuctionResult result, BidderData bidder1Data, BidderData bidder2Data) {
+        try {
+            writer.write(bidder1, bidder2, auctionId, quantity, cash, bids1, bids2);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        auctionId++;
+    }
+}
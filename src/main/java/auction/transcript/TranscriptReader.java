@@ -0,0 +1,144 @@
+package auction.transcript;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads the auctions of a transcript written by {@link TranscriptWriter}, one after another.
+ * <p>
+ * The current auction is available through the getters after {@link #next()}. Its bids are stored in arrays
+ * that are reused for the next auction.
+ */
+public class TranscriptReader implements AutoCloseable {
+    private final FileChannel channel;
+    private final long length;
+    private MappedByteBuffer segment;
+    private long segmentStart;
+
+    private int bidder1;
+    private int bidder2;
+    private long auctionId;
+    private int quantity;
+    private int cash;
+    private int[] bids1 = new int[0];
+    private int[] bids2 = new int[0];
+
+    public TranscriptReader(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, TranscriptWriter.HEADER_SIZE);
+        if (header.getInt(0) != TranscriptWriter.MAGIC || header.getInt(4) != TranscriptWriter.VERSION) {
+            throw new IOException(file + " is not a transcript of version " + TranscriptWriter.VERSION);
+        }
+        this.length = header.getLong(8);
+        map(TranscriptWriter.HEADER_SIZE);
+    }
+
+    /**
+     * Reads the next auction.
+     *
+     * @return false if there are no more auctions
+     */
+    public boolean next() throws IOException {
+        if (getPosition() >= length) {
+            return false;
+        }
+        bidder1 = (int) readVarint();
+        bidder2 = (int) readVarint();
+        auctionId = readVarint();
+        quantity = (int) readVarint();
+        cash = (int) readVarint();
+        int rounds = quantity / 2;
+        if (bids1.length < rounds) {
+            bids1 = new int[rounds];
+            bids2 = new int[rounds];
+        }
+        int previous1 = 0;
+        int previous2 = 0;
+        for (int round = 0; round < rounds; round++) {
+            previous1 += unzigzag(readVarint());
+            previous2 += unzigzag(readVarint());
+            bids1[round] = previous1;
+            bids2[round] = previous2;
+        }
+        return true;
+    }
+
+    public int getBidder1() {
+        return bidder1;
+    }
+
+    public int getBidder2() {
+        return bidder2;
+    }
+
+    public long getAuctionId() {
+        return auctionId;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public int getCash() {
+        return cash;
+    }
+
+    public int getRounds() {
+        return quantity / 2;
+    }
+
+    /**
+     * @return the bids of the first bidder. Only the first {@link #getRounds()} elements belong to this auction.
+     */
+    public int[] getBids1() {
+        return bids1;
+    }
+
+    /**
+     * @return the bids of the second bidder. Only the first {@link #getRounds()} elements belong to this auction.
+     */
+    public int[] getBids2() {
+        return bids2;
+    }
+
+    private static int unzigzag(long value) {
+        int bits = (int) value;
+        return (bits >>> 1) ^ -(bits & 1);
+    }
+
+    private long readVarint() throws IOException {
+        long value = 0;
+        int shift = 0;
+        byte current;
+        do {
+            current = readByte();
+            value |= (long) (current & 0x7F) << shift;
+            shift += 7;
+        } while ((current & 0x80) != 0);
+        return value;
+    }
+
+    private byte readByte() throws IOException {
+        if (!segment.hasRemaining()) {
+            map(segmentStart + segment.capacity());
+        }
+        return segment.get();
+    }
+
+    private long getPosition() {
+        return segmentStart + segment.position();
+    }
+
+    private void map(long position) throws IOException {
+        segmentStart = position;
+        segment = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(TranscriptWriter.SEGMENT_SIZE, length - position));
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,148 @@
+package auction.transcript;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends auction transcripts to a memory-mapped binary log.
+ * <p>
+ * The file starts with a 16-byte header: int magic, int version and the long length of the committed data.
+ * It is followed by one record per auction, all numbers as unsigned LEB128 varints:
+ * <pre>
+ * bidder1, bidder2, auctionId, quantity, cash, then for each of the quantity / 2 rounds:
+ * zigzag(bid1 - previous bid1), zigzag(bid2 - previous bid2)
+ * </pre>
+ * The previous bids start at 0 in every record, so each record can be decoded on its own.
+ * Typical bids fit into one byte, so an auction of 15 rounds takes about 35 bytes.
+ * <p>
+ * Whole records are written at once, so several threads can share a writer. The committed length in the header
+ * is updated after every record, so a reader never sees a partial record, even if the writing process crashed:
+ * the mapped pages belong to the operating system, which writes them out later.
+ * After a crash of the operating system, only the records up to the last {@link #flush()} or {@link #close()}
+ * are guaranteed, which write the data to disk before the header.
+ */
+public class TranscriptWriter implements AutoCloseable {
+    final static int MAGIC = 0x41554354;
+    final static int VERSION = 1;
+    final static int HEADER_SIZE = 16;
+    // The file is mapped in segments of this size, records may span two segments
+    final static int SEGMENT_SIZE = 64 << 20;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private MappedByteBuffer segment;
+    private long segmentStart;
+
+    /**
+     * Opens a transcript file for appending, creating it if it does not exist.
+     *
+     * @throws IOException if the file is neither empty nor a transcript of this version
+     */
+    public TranscriptWriter(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = channel.size();
+        if (size != 0 && size < HEADER_SIZE) {
+            channel.close();
+            throw new IOException(file + " is not a transcript");
+        }
+        this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+        long length;
+        if (size != 0) {
+            if (header.getInt(0) != MAGIC) {
+                channel.close();
+                throw new IOException(file + " is not a transcript");
+            }
+            if (header.getInt(4) != VERSION) {
+                channel.close();
+                throw new IOException(file + " is a transcript of another version");
+            }
+            length = header.getLong(8);
+        } else {
+            header.putInt(0, MAGIC);
+            header.putInt(4, VERSION);
+            length = HEADER_SIZE;
+            header.putLong(8, length);
+        }
+        map(length);
+    }
+
+    /**
+     * Appends the transcript of one auction.
+     *
+     * @param bidder1   the id of the first bidder, e.g. its index in the arena
+     * @param bidder2   the id of the second bidder
+     * @param auctionId the id of the auction within the pairing
+     * @param quantity  the quantity of the auction
+     * @param cash      the initial cash of the auction
+     * @param bids1     the bids of the first bidder, one per round
+     * @param bids2     the bids of the second bidder, one per round
+     */
+    public synchronized void write(int bidder1, int bidder2, long auctionId, int quantity, int cash, int[] bids1, int[] bids2) throws IOException {
+        writeVarint(bidder1);
+        writeVarint(bidder2);
+        writeVarint(auctionId);
+        writeVarint(quantity);
+        writeVarint(cash);
+        int previous1 = 0;
+        int previous2 = 0;
+        for (int round = 0; round < quantity / 2; round++) {
+            writeVarint(zigzag(bids1[round] - previous1));
+            writeVarint(zigzag(bids2[round] - previous2));
+            previous1 = bids1[round];
+            previous2 = bids2[round];
+        }
+        header.putLong(8, segmentStart + segment.position());
+    }
+
+    private static long zigzag(int value) {
+        return ((value << 1) ^ (value >> 31)) & 0xFFFFFFFFL;
+    }
+
+    private void writeVarint(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            writeByte((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        writeByte((byte) value);
+    }
+
+    private void writeByte(byte value) throws IOException {
+        if (!segment.hasRemaining()) {
+            // The full segment is written to disk, so flush() only needs to force the current one
+            segment.force();
+            map(segmentStart + segment.capacity());
+        }
+        segment.put(value);
+    }
+
+    /**
+     * Maps the segment starting at the given file position.
+     */
+    private void map(long position) throws IOException {
+        segmentStart = position;
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, position, SEGMENT_SIZE);
+    }
+
+    /**
+     * Writes all records so far to disk, the data before the committed length.
+     * Forcing the pages costs a system call and a disk write, so call this rarely, e.g. after a chunk of auctions.
+     */
+    public synchronized void flush() {
+        segment.force();
+        header.force();
+    }
+
+    /**
+     * Flushes the log and cuts the file to the committed length.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        long length = header.getLong(8);
+        flush();
+        channel.truncate(length);
+        channel.close();
+    }
+}
@@ -0,0 +1,77 @@
+package auction;
+
+import auction.bidders.RandomBidder;
+import auction.bidders.RandomBidder2;
+import auction.bidders.SimpleBidder;
+import auction.bidders.SimpleHighBidder;
+import auction.bidders.TitForTatBidder;
+import auction.bidders.mybidder.MyBidder;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Checks that repeated auctions between the shipped bidders do not allocate, once they are warmed up.
+ */
+class AuctionAllocationTest {
+    private final static int QUANTITY = 30;
+    private final static int CASH = 300;
+    private final static long SEED = 42;
+    // How many auctions warm up a pairing before its allocations are measured
+    private final static int WARMUP = 20000;
+    // How many auctions of a pairing are measured
+    private final static int AUCTIONS = 5000;
+    // How many bytes a pairing may allocate in total, enough for a few objects of the JIT, e.g. when it deoptimizes
+    private final static long JIT_ALLOWANCE = 256;
+
+    private final static List<Supplier<Bidder>> BIDDERS = List.of(
+            SimpleBidder::new,
+            RandomBidder::new,
+            TitForTatBidder::new,
+            RandomBidder2::new,
+            SimpleHighBidder::new,
+            MyBidder::new
+    );
+
+    /**
+     * Every pairing is warmed up, then the bytes allocated by the current thread during more auctions
+     * are measured with the thread allocation counter.
+     * <p>
+     * Bidders must not allocate at all, but the JIT may allocate a few objects on this thread when it deoptimizes
+     * or recompiles a method during the measurement, so a total of {@link #JIT_ALLOWANCE} bytes is allowed.
+     * That is far less than one object per auction, and catches rare allocations as well, down to one object
+     * in every few hundred auctions.
+     */
+    @Test
+    void repeatedAuctionsDoNotAllocate() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean,
+                "This JVM cannot count allocations");
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "This JVM cannot count allocations");
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        for (Supplier<Bidder> bidder1 : BIDDERS) {
+            for (Supplier<Bidder> bidder2 : BIDDERS) {
+                Auction auction = new Auction(bidder1.get(), bidder2.get(), QUANTITY, CASH,
+                        new SplittableRandom(SEED), new SplittableRandom(SEED + 1));
+                for (int k = 0; k < WARMUP; k++) {
+                    auction.run();
+                }
+                long before = threads.getCurrentThreadAllocatedBytes();
+                for (int k = 0; k < AUCTIONS; k++) {
+                    auction.run();
+                }
+                long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+                assertTrue(allocated <= JIT_ALLOWANCE, () -> String.format("%s against %s allocated %d bytes in %d auctions",
+                        bidder1.get().getClass().getSimpleName(), bidder2.get().getClass().getSimpleName(),
+                        allocated, AUCTIONS));
+            }
+        }
+    }
+}
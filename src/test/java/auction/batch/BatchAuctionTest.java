@@ -0,0 +1,67 @@
+package auction.batch;
+
+import auction.Auction;
+import auction.AuctionResult;
+import auction.Bidder;
+import auction.bidders.RandomBidder;
+import auction.bidders.SimpleBidder;
+import auction.bidders.SimpleHighBidder;
+import auction.bidders.TitForTatBidder;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+/**
+ * Checks that the batch engine plays the same auctions as {@link Auction}.
+ */
+class BatchAuctionTest {
+    private final static int QUANTITY = 30;
+    private final static int CASH = 300;
+    private final static long SEED = 42;
+    // How many auctions run in lockstep
+    private final static int SIZE = 64;
+
+    private final static List<Supplier<Bidder>> DETERMINISTIC_BIDDERS = List.of(
+            SimpleBidder::new,
+            SimpleHighBidder::new,
+            TitForTatBidder::new
+    );
+
+    /**
+     * Deterministic bidders play the same auction every time, so every auction of a batch must end like the
+     * auction of {@link Auction}, with the batch versions of the bidders and with the per-auction fallback.
+     */
+    @Test
+    void deterministicPairingsMatchAuction() {
+        for (Supplier<Bidder> bidder1 : DETERMINISTIC_BIDDERS) {
+            for (Supplier<Bidder> bidder2 : DETERMINISTIC_BIDDERS) {
+                AuctionResult expected = new Auction(bidder1.get(), bidder2.get(), QUANTITY, CASH,
+                        new SplittableRandom(SEED), new SplittableRandom(SEED + 1)).run();
+                String pairing = bidder1.get().getClass().getSimpleName() + " against "
+                        + bidder2.get().getClass().getSimpleName();
+
+                int[] batched = new BatchAuction(BatchBidders.forBidder(bidder1, SEED),
+                        BatchBidders.forBidder(bidder2, SEED + 1), QUANTITY, CASH, SIZE).run();
+                assertEquals(SIZE, batched[expected.ordinal()], pairing + " with batch versions");
+
+                int[] fallback = new BatchAuction(new PerAuctionBatchBidder(bidder1, SEED),
+                        new PerAuctionBatchBidder(bidder2, SEED + 1), QUANTITY, CASH, SIZE).run();
+                assertEquals(SIZE, fallback[expected.ordinal()], pairing + " with one bidder per auction");
+            }
+        }
+    }
+
+    @Test
+    void onlyBatchCapableBiddersHaveBatchVersions() {
+        for (Supplier<Bidder> bidder : DETERMINISTIC_BIDDERS) {
+            assertFalse(BatchBidders.forBidder(bidder, SEED) instanceof PerAuctionBatchBidder);
+        }
+        assertInstanceOf(PerAuctionBatchBidder.class, BatchBidders.forBidder(RandomBidder::new, SEED));
+    }
+}